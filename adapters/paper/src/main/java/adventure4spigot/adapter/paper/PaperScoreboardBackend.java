@@ -0,0 +1,60 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.adapter.paper;
+
+import adventure4spigot.scoreboard.AdventureScoreboard;
+import net.kyori.adventure.text.Component;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Calls Paper's component methods of {@link Objective} and {@link Team} directly
+ */
+final class PaperScoreboardBackend implements AdventureScoreboard {
+
+    @Override public Objective registerNewObjective(@NotNull Scoreboard scoreboard,
+                                                    @NotNull String name,
+                                                    @NotNull String criteria,
+                                                    @NotNull Component displayName) {
+        return scoreboard.registerNewObjective(name, criteria, displayName);
+    }
+
+    @Override public void setDisplayName(Objective objective, Component displayName) {
+        objective.displayName(displayName);
+    }
+
+    @Override public Component getDisplayName(Objective objective) {
+        return objective.displayName();
+    }
+
+    @Override public void setPrefix(Team team, Component prefix) {
+        team.prefix(prefix);
+    }
+
+    @Override public void setSuffix(Team team, Component suffix) {
+        team.suffix(suffix);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.adapter.v1_16_R3;
+
+import adventure4spigot.adapter.VersionAdapter;
+import adventure4spigot.scoreboard.AdventureScoreboard;
+import adventure4spigot.util.GameVersion;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Adapter for 1.16.4 and 1.16.5.
+ * <p>
+ * Items on these versions store display names and lore as JSON strings, which
+ * the reflective backend already writes without touching any NMS method, so
+ * only the scoreboard backend is provided.
+ */
+public final class Adapter_v1_16_R3 implements VersionAdapter {
+
+    @Override public @NotNull String getName() {
+        return "v1_16_R3";
+    }
+
+    @Override public boolean isCompatible() {
+        return GameVersion.VERSION.equals("v1_16_R3");
+    }
+
+    @Override public AdventureScoreboard createScoreboardBackend() {
+        return new ScoreboardBackend();
+    }
+}
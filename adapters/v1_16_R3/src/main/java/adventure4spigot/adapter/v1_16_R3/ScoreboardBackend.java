@@ -0,0 +1,131 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.adapter.v1_16_R3;
+
+import adventure4spigot.reflect.ReflectField;
+import adventure4spigot.scoreboard.AdventureScoreboard;
+import adventure4spigot.scoreboard.RawObjectiveAccess;
+import adventure4spigot.util.ConversionCache;
+import adventure4spigot.util.JsonComponentSerializer;
+import adventure4spigot.util.NmsComponents;
+import net.kyori.adventure.text.Component;
+import net.minecraft.server.v1_16_R3.IChatBaseComponent;
+import net.minecraft.server.v1_16_R3.IChatBaseComponent.ChatSerializer;
+import net.minecraft.server.v1_16_R3.ScoreboardObjective;
+import net.minecraft.server.v1_16_R3.ScoreboardTeam;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+import org.jetbrains.annotations.NotNull;
+
+
+import static adventure4spigot.reflect.ReflectField.fieldHandle;
+import static adventure4spigot.util.GameVersion.ocbClass;
+
+/**
+ * Calls {@link ScoreboardObjective} and {@link ScoreboardTeam} directly.
+ * <p>
+ * CraftObjective and CraftTeam are package-private, and live in another class
+ * loader, so their handles are still read through var handles.
+ */
+final class ScoreboardBackend implements AdventureScoreboard, RawObjectiveAccess {
+
+    private static final JsonComponentSerializer SERIALIZER = JsonComponentSerializer.gson();
+
+    private static final ReflectField<Object> OBJECTIVE = fieldHandle(ocbClass("scoreboard.CraftObjective"), "objective");
+    private static final ReflectField<Object> TEAM = fieldHandle(ocbClass("scoreboard.CraftTeam"), "team");
+
+    private static final ConversionCache<String> CACHE = ConversionCache.create("adapter.v1_16_R3.scoreboard");
+
+    @Override public Objective registerNewObjective(@NotNull Scoreboard scoreboard,
+                                                    @NotNull String name,
+                                                    @NotNull String criteria,
+                                                    @NotNull Component displayName) {
+        Objective o = scoreboard.registerNewObjective(name, criteria, ".");
+        setDisplayName(o, displayName);
+        return o;
+    }
+
+    @Override public void setDisplayName(Objective objective, Component displayName) {
+        handle(objective).setDisplayName(toNms(displayName));
+    }
+
+    @Override public Component getDisplayName(Objective objective) {
+        return fromNms(handle(objective).getDisplayName());
+    }
+
+    @Override public Object getRawDisplayName(Objective objective) {
+        return handle(objective).getDisplayName();
+    }
+
+    @Override public void setPrefix(Team team, Component prefix) {
+        handle(team).setPrefix(toNms(prefix));
+    }
+
+    @Override public void setSuffix(Team team, Component suffix) {
+        handle(team).setSuffix(toNms(suffix));
+    }
+
+    /**
+     * NMS components are mutable, so the native form is their JSON, and every
+     * objective gets its own NMS component parsed from it
+     */
+    @Override public Object toNative(Component displayName) {
+        return CACHE.get(displayName, SERIALIZER::serialize);
+    }
+
+    @Override public void setNativeDisplayName(Objective objective, Object displayName) {
+        handle(objective).setDisplayName(ChatSerializer.a((String) displayName));
+    }
+
+    private static ScoreboardObjective handle(Objective objective) {
+        return (ScoreboardObjective) OBJECTIVE.get(objective);
+    }
+
+    /**
+     * Like CraftTeam's own setters, this throws if the team was unregistered
+     */
+    private static ScoreboardTeam handle(Team team) {
+        team.getName(); // CraftTeam#checkState()
+        return (ScoreboardTeam) TEAM.get(team);
+    }
+
+    /**
+     * Converts the component into a new IChatBaseComponent. They are mutable,
+     * so only their JSON goes through the conversion cache.
+     */
+    private static IChatBaseComponent toNms(Component component) {
+        Object nms = NmsComponents.toNms(component);
+        if (nms != null)
+            return (IChatBaseComponent) nms;
+        return ChatSerializer.a(CACHE.get(component, SERIALIZER::serialize));
+    }
+
+    private static Component fromNms(IChatBaseComponent component) {
+        Component adventure = NmsComponents.fromNms(component);
+        if (adventure != null)
+            return adventure;
+        return SERIALIZER.deserialize(ChatSerializer.a(component));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.benchmark;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Components shaped like the names and lore that plugins typically set
+ */
+public final class Fixtures {
+
+    private Fixtures() {}
+
+    /**
+     * A colored, non-italic item name with a styled suffix
+     *
+     * @return The display name
+     */
+    public static @NotNull Component displayName() {
+        return Component.text()
+                .content("Legendary Sword")
+                .color(NamedTextColor.GOLD)
+                .decoration(TextDecoration.ITALIC, false)
+                .append(Component.text(" [+12]", TextColor.color(0x55FFAA), TextDecoration.BOLD))
+                .build();
+    }
+
+    /**
+     * Lore lines, alternating between single-node lines and lines with a
+     * highlighted value
+     *
+     * @param lines Number of lines
+     * @return The lore
+     */
+    public static @NotNull List<Component> lore(int lines) {
+        List<Component> lore = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            if (i % 2 == 0) {
+                lore.add(Component.text("A line of flavor text #" + i, NamedTextColor.GRAY)
+                        .decoration(TextDecoration.ITALIC, false));
+            } else {
+                lore.add(Component.text()
+                        .content("Damage: ")
+                        .color(NamedTextColor.GRAY)
+                        .decoration(TextDecoration.ITALIC, false)
+                        .append(Component.text("+" + i, NamedTextColor.RED))
+                        .build());
+            }
+        }
+        return lore;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.ExceptionMethod;
+import net.bytebuddy.implementation.FieldAccessor;
+import org.bukkit.Bukkit;
+import org.bukkit.craftbukkit.v1_16_R3.CraftServer;
+import org.bukkit.craftbukkit.v1_16_R3.inventory.CraftMetaItem;
+import org.bukkit.craftbukkit.v1_16_R3.scoreboard.CraftObjective;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.scoreboard.Objective;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static net.bytebuddy.matcher.ElementMatchers.isAbstract;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+
+/**
+ * Bootstraps the library without a running server, using the stand-in
+ * CraftBukkit and NMS classes of the benchmark source set.
+ * <p>
+ * The stand-ins only implement what the library touches. Concrete classes
+ * are generated at runtime, with every remaining API method throwing
+ * {@link UnsupportedOperationException}, and Paper's Adventure accessors
+ * (when paper-api is on the classpath) reading and writing plain fields.
+ */
+public final class OfflineServer {
+
+    /**
+     * The Bukkit version reported by the offline server
+     */
+    public static final String BUKKIT_VERSION = "1.16.5-R0.1-SNAPSHOT";
+
+    private static final Map<Class<?>, Class<?>> IMPLEMENTATIONS = new ConcurrentHashMap<>();
+
+    private OfflineServer() {}
+
+    /**
+     * Installs the offline server, if no server is installed yet. This must
+     * be called before any class of the library is initialized.
+     */
+    public static synchronized void install() {
+        if (Bukkit.getServer() == null)
+            Bukkit.setServer(instantiate(CraftServer.class));
+    }
+
+    /**
+     * Creates a new, empty item meta
+     *
+     * @return The item meta
+     */
+    public static @NotNull ItemMeta newItemMeta() {
+        return instantiate(CraftMetaItem.class);
+    }
+
+    /**
+     * Creates a new objective
+     *
+     * @return The objective
+     */
+    public static @NotNull Objective newObjective() {
+        return instantiate(CraftObjective.class);
+    }
+
+    private static <T> T instantiate(Class<T> standIn) {
+        Class<?> type = IMPLEMENTATIONS.computeIfAbsent(standIn, OfflineServer::implement);
+        try {
+            return standIn.cast(type.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate " + type, e);
+        }
+    }
+
+    private static Class<?> implement(Class<?> standIn) {
+        try {
+            return new ByteBuddy()
+                    .subclass(standIn)
+                    .method(isAbstract())
+                    .intercept(ExceptionMethod.throwing(UnsupportedOperationException.class))
+                    .method(named("displayName").and(takesArguments(0).or(takesArguments(1))))
+                    .intercept(FieldAccessor.ofField("adventureDisplayName"))
+                    .method(named("lore").and(takesArguments(0).or(takesArguments(1))))
+                    .intercept(FieldAccessor.ofField("adventureLore"))
+                    .make()
+                    .load(standIn.getClassLoader(), ClassLoadingStrategy.UsingLookup.of(
+                            MethodHandles.privateLookupIn(standIn, MethodHandles.lookup())
+                    ))
+                    .getLoaded();
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot define an implementation of " + standIn, e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.item;
+
+import adventure4spigot.benchmark.Fixtures;
+import adventure4spigot.benchmark.OfflineServer;
+import adventure4spigot.util.ConversionCache;
+import net.kyori.adventure.text.Component;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks every {@link AdventureItem} backend against the offline server.
+ * <p>
+ * All backends run against the same stand-in item meta, so the numbers compare
+ * the conversion and reflection cost of each backend rather than the server's.
+ * {@code ByPaper} requires paper-api on the benchmark classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdventureItemBenchmark {
+
+    @Param({"ByPaper", "ByComponentString", "ByComponent", "ByRawString"})
+    public String backend;
+
+    @Param({"1", "20"})
+    public int loreLines;
+
+    @Param({"0", "1024"})
+    public long cacheSize;
+
+    private AdventureItem item;
+    private ItemMeta meta;
+    private Component displayName;
+    private List<Component> lore;
+    private PreparedItemDisplay prepared;
+
+    @Setup public void setup() {
+        OfflineServer.install();
+        ConversionCache.setMaximumSize(cacheSize);
+        item = create(backend);
+        meta = OfflineServer.newItemMeta();
+        displayName = Fixtures.displayName();
+        lore = Fixtures.lore(loreLines);
+        item.setDisplayName(meta, displayName);
+        item.setLore(meta, lore);
+        prepared = PreparedItemDisplay.of(item, displayName, lore);
+    }
+
+    @Benchmark public Component getDisplayName() {
+        return item.getDisplayName(meta);
+    }
+
+    @Benchmark public void setDisplayName() {
+        item.setDisplayName(meta, displayName);
+    }
+
+    @Benchmark public List<Component> getLore() {
+        return item.getLore(meta);
+    }
+
+    @Benchmark public Component getLazyLoreFirstLine() {
+        return item.getLazyLore(meta).get(0);
+    }
+
+    @Benchmark public void setLore() {
+        item.setLore(meta, lore);
+    }
+
+    @Benchmark public void applyPrepared() {
+        prepared.applyTo(meta);
+    }
+
+    private static AdventureItem create(String backend) {
+        switch (backend) {
+            case "ByPaper":
+                if (!ByPaper.isSupported())
+                    throw new IllegalStateException("ByPaper requires paper-api on the benchmark classpath");
+                return new ByPaper();
+            case "ByComponentString":
+                return new ByComponentString();
+            case "ByComponent":
+                return new ByComponent();
+            case "ByRawString":
+                return new ByRawString();
+            default:
+                throw new IllegalArgumentException("Unknown backend: " + backend);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.reflect;
+
+import adventure4spigot.reflect.MethodCaller.BoundMethodCaller;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link MethodCaller} and {@link ReflectField} against direct
+ * calls and field accesses
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReflectionBenchmark {
+
+    public static final class Target {
+
+        private String value = "value";
+
+        public String value() {
+            return value;
+        }
+
+        public void value(String value) {
+            this.value = value;
+        }
+
+        public static String concat(String a, String b) {
+            return a + b;
+        }
+    }
+
+    private static final MethodCaller GETTER;
+    private static final MethodCaller SETTER;
+    private static final BoundMethodCaller CONCAT;
+
+    static {
+        try {
+            GETTER = MethodCaller.wrap(Target.class.getDeclaredMethod("value"));
+            SETTER = MethodCaller.wrap(Target.class.getDeclaredMethod("value", String.class));
+            CONCAT = MethodCaller.wrap(Target.class.getDeclaredMethod("concat", String.class, String.class)).bindTo(null);
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final ReflectField<String> METHOD_HANDLE_FIELD = ReflectField.getterAndSetter(Target.class, "value");
+    private static final ReflectField<String> VAR_HANDLE_FIELD = ReflectField.fieldHandle(Target.class, "value");
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.privateLookupIn(Target.class, MethodHandles.lookup())
+                    .findVarHandle(Target.class, "value", String.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Target target = new Target();
+
+    @Benchmark public String directGet() {
+        return target.value();
+    }
+
+    @Benchmark public Object methodCallerGet() {
+        return GETTER.call(target);
+    }
+
+    @Benchmark public Object methodCallerVarargsGet() {
+        return GETTER.call(target, new Object[0]);
+    }
+
+    @Benchmark public void directSet() {
+        target.value("value");
+    }
+
+    @Benchmark public void methodCallerSet() {
+        SETTER.call(target, "value");
+    }
+
+    @Benchmark public String directStatic() {
+        return Target.concat("a", "b");
+    }
+
+    @Benchmark public Object boundMethodCallerStatic() {
+        return CONCAT.call("a", "b");
+    }
+
+    @Benchmark public String methodHandleFieldGet() {
+        return METHOD_HANDLE_FIELD.get(target);
+    }
+
+    @Benchmark public String varHandleFieldGet() {
+        return VAR_HANDLE_FIELD.get(target);
+    }
+
+    @Benchmark public String staticVarHandleGet() {
+        return (String) VALUE.get(target);
+    }
+
+    @Benchmark public void methodHandleFieldSet() {
+        METHOD_HANDLE_FIELD.set(target, "value");
+    }
+
+    @Benchmark public void staticVarHandleSet() {
+        VALUE.set(target, "value");
+    }
+}
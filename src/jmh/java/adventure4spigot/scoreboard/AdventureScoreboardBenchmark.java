@@ -0,0 +1,88 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.scoreboard;
+
+import adventure4spigot.benchmark.Fixtures;
+import adventure4spigot.benchmark.OfflineServer;
+import adventure4spigot.util.ConversionCache;
+import net.kyori.adventure.text.Component;
+import org.bukkit.scoreboard.Objective;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks every {@link AdventureScoreboard} backend against the offline
+ * server. {@code ByPaper} requires paper-api on the benchmark classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdventureScoreboardBenchmark {
+
+    @Param({"ByPaper", "ByComponent", "ByRawString"})
+    public String backend;
+
+    @Param({"0", "1024"})
+    public long cacheSize;
+
+    private AdventureScoreboard scoreboard;
+    private Objective objective;
+    private Component displayName;
+
+    @Setup public void setup() {
+        OfflineServer.install();
+        ConversionCache.setMaximumSize(cacheSize);
+        scoreboard = create(backend);
+        objective = OfflineServer.newObjective();
+        displayName = Fixtures.displayName();
+        scoreboard.setDisplayName(objective, displayName);
+    }
+
+    @Benchmark public Component getDisplayName() {
+        return scoreboard.getDisplayName(objective);
+    }
+
+    @Benchmark public void setDisplayName() {
+        scoreboard.setDisplayName(objective, displayName);
+    }
+
+    private static AdventureScoreboard create(String backend) {
+        switch (backend) {
+            case "ByPaper":
+                if (!ByPaper.isSupported())
+                    throw new IllegalStateException("ByPaper requires paper-api on the benchmark classpath");
+                return new ByPaper();
+            case "ByComponent":
+                return new ByComponent();
+            case "ByRawString":
+                return new ByRawString();
+            default:
+                throw new IllegalArgumentException("Unknown backend: " + backend);
+        }
+    }
+}
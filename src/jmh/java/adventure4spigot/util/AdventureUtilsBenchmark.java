@@ -0,0 +1,83 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.util;
+
+import adventure4spigot.benchmark.Fixtures;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.ComponentSerializer;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the list conversions of {@link AdventureUtils} with the
+ * serializers used by the item backends
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdventureUtilsBenchmark {
+
+    @Param({"gson", "adventureGson", "legacy", "adventureLegacy"})
+    public String serializer;
+
+    @Param({"1", "10", "30"})
+    public int lines;
+
+    private ComponentSerializer<Component, ?, String> componentSerializer;
+    private List<Component> components;
+    private List<String> strings;
+
+    @Setup public void setup() {
+        switch (serializer) {
+            case "gson":
+                componentSerializer = JsonComponentSerializer.gson();
+                break;
+            case "adventureGson":
+                componentSerializer = GsonComponentSerializer.gson();
+                break;
+            case "legacy":
+                componentSerializer = LegacySectionSerializer.legacySection();
+                break;
+            default:
+                componentSerializer = LegacyComponentSerializer.legacySection();
+        }
+        components = Fixtures.lore(lines);
+        strings = AdventureUtils.fromAdventure(componentSerializer, components);
+    }
+
+    @Benchmark public List<Component> toAdventure() {
+        return AdventureUtils.toAdventure(componentSerializer, strings);
+    }
+
+    @Benchmark public List<String> fromAdventure() {
+        return AdventureUtils.fromAdventure(componentSerializer, components);
+    }
+}
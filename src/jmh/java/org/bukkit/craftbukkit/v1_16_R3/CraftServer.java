@@ -0,0 +1,55 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package org.bukkit.craftbukkit.v1_16_R3;
+
+import adventure4spigot.benchmark.OfflineServer;
+import org.bukkit.Server;
+
+import java.util.logging.Logger;
+
+/**
+ * An offline stand-in for CraftBukkit's server. Only the methods required
+ * to bootstrap {@link org.bukkit.Bukkit} are implemented, the rest are generated
+ * by {@link OfflineServer} and throw {@link UnsupportedOperationException}.
+ */
+public abstract class CraftServer implements Server {
+
+    private final Logger logger = Logger.getLogger("OfflineServer");
+
+    @Override public String getName() {
+        return "OfflineServer";
+    }
+
+    @Override public String getVersion() {
+        return "offline (MC: " + OfflineServer.BUKKIT_VERSION.split("-")[0] + ")";
+    }
+
+    @Override public String getBukkitVersion() {
+        return OfflineServer.BUKKIT_VERSION;
+    }
+
+    @Override public Logger getLogger() {
+        return logger;
+    }
+}
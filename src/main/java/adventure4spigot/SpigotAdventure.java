@@ -24,10 +24,18 @@
 package adventure4spigot;
 
 import adventure4spigot.item.AdventureItem;
+import adventure4spigot.item.ItemDisplay;
+import adventure4spigot.item.PreparedItemDisplay;
+import adventure4spigot.metrics.Metrics;
 import adventure4spigot.scoreboard.AdventureScoreboard;
-import adventure4spigot.util.GameVersion;
+import adventure4spigot.scoreboard.VirtualScoreboard;
+import adventure4spigot.util.ConversionCache;
+import adventure4spigot.util.InternPool;
+import adventure4spigot.util.LegacySectionSerializer;
+import adventure4spigot.util.NmsComponents;
+import adventure4spigot.util.ProbeCache;
+import adventure4spigot.util.WriteTracker;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
@@ -36,13 +44,33 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * A collection of utility methods for integrating Adventure into Spigot's
@@ -75,7 +103,10 @@ public final class SpigotAdventure {
      *                                  viewed.
      */
     public static Inventory createInventory(@Nullable InventoryHolder owner, @NotNull InventoryType type, @NotNull Component title) {
-        return Bukkit.createInventory(owner, type, LegacyComponentSerializer.legacySection().serialize(title));
+        long start = Metrics.start();
+        Inventory inventory = Bukkit.createInventory(owner, type, LegacySectionSerializer.legacySection().serialize(title));
+        Metrics.recordCall(CREATE_INVENTORY, start);
+        return inventory;
     }
 
     /**
@@ -90,7 +121,10 @@ public final class SpigotAdventure {
      * @throws IllegalArgumentException if the size is not a multiple of 9
      */
     public static Inventory createInventory(@Nullable InventoryHolder owner, int size, @NotNull Component title) {
-        return Bukkit.createInventory(owner, size, LegacyComponentSerializer.legacySection().serialize(title));
+        long start = Metrics.start();
+        Inventory inventory = Bukkit.createInventory(owner, size, LegacySectionSerializer.legacySection().serialize(title));
+        Metrics.recordCall(CREATE_INVENTORY, start);
+        return inventory;
     }
 
     /**
@@ -103,7 +137,7 @@ public final class SpigotAdventure {
      * @return the display name that is set
      */
     public static Component getDisplayName(@NotNull ItemMeta meta) {
-        return ITEM.getDisplayName(meta);
+        return Backends.ITEM.getDisplayName(meta);
     }
 
     /**
@@ -113,7 +147,7 @@ public final class SpigotAdventure {
      * @param displayName the name to set
      */
     public static void setDisplayName(@NotNull ItemMeta meta, @Nullable Component displayName) {
-        ITEM.setDisplayName(meta, displayName);
+        Backends.ITEM.setDisplayName(meta, displayName);
     }
 
     /**
@@ -121,12 +155,15 @@ public final class SpigotAdventure {
      * <p>
      * Plugins should check if hasLore() returns <code>true</code> before
      * calling this method.
+     * <p>
+     * If lazy lore is enabled, the returned list is read-only.
      *
      * @param meta item meta to get from
      * @return a list of lore that is set
+     * @see #setLazyLore(boolean)
      */
     public static List<Component> getLore(@NotNull ItemMeta meta) {
-        return ITEM.getLore(meta);
+        return lazyLore ? Backends.ITEM.getLazyLore(meta) : Backends.ITEM.getLore(meta);
     }
 
     /**
@@ -137,7 +174,129 @@ public final class SpigotAdventure {
      * @param lore the lore that will be set
      */
     public static void setLore(@NotNull ItemMeta meta, @Nullable List<Component> lore) {
-        ITEM.setLore(meta, lore);
+        Backends.ITEM.setLore(meta, lore);
+    }
+
+    /**
+     * Sets the display name of the given item.
+     * <p>
+     * Unlike getting, changing and setting the item meta, this writes the
+     * display name straight into the item's tag where supported, which avoids
+     * copying the whole meta twice.
+     *
+     * @param item        item to set for
+     * @param displayName the name to set, or null to remove it
+     */
+    public static void setDisplayName(@NotNull ItemStack item, @Nullable Component displayName) {
+        Backends.ITEM.setDisplayName(item, displayName);
+    }
+
+    /**
+     * Sets the lore of the given item.
+     * Removes lore when given null.
+     * <p>
+     * Unlike getting, changing and setting the item meta, this writes the
+     * lore straight into the item's tag where supported, which avoids
+     * copying the whole meta twice.
+     *
+     * @param item item to set for
+     * @param lore the lore that will be set
+     */
+    public static void setLore(@NotNull ItemStack item, @Nullable List<Component> lore) {
+        Backends.ITEM.setLore(item, lore);
+    }
+
+    /**
+     * Sets the display name and lore of many items at once.
+     * <p>
+     * The displays are computed on the calling thread, and equal displays are
+     * only converted once. Converting the components, which is the expensive
+     * part, runs in parallel on the decoration executor, while the converted
+     * values are written to the items on the calling thread, which should be
+     * the server thread. Items backed by NMS items are written to directly
+     * where supported, and other items through their meta.
+     * <p>
+     * Backends that store NMS components in item metas cannot share them
+     * between items, so writing through a meta still parses the converted
+     * JSON once per line of every item, on the calling thread. That happens
+     * for items that are not backed by NMS items, such as ones created with
+     * {@code new ItemStack(...)}, or when direct writes are not supported.
+     * See {@link PreparedItemDisplay}.
+     * <p>
+     * An item that cannot be decorated, because the display function or the
+     * conversion of its display failed, does not stop the other items from
+     * being decorated.
+     *
+     * @param items   Items to decorate
+     * @param display Function returning the display of each item. Items it
+     *                returns null for are left unchanged
+     * @return The items that could not be decorated, compared by identity and
+     * mapped to the cause. Empty if every item was decorated
+     * @see #setDecorationExecutor(Executor)
+     */
+    public static @NotNull Map<ItemStack, Throwable> decorateAll(@NotNull Collection<ItemStack> items,
+                                                                 @NotNull Function<ItemStack, ItemDisplay> display) {
+        return decorateAll(items, display, ItemDisplay::prepare, decorationExecutor);
+    }
+
+    static @NotNull Map<ItemStack, Throwable> decorateAll(@NotNull Collection<ItemStack> items,
+                                                          @NotNull Function<ItemStack, ItemDisplay> display,
+                                                          @NotNull Function<ItemDisplay, PreparedItemDisplay> prepare,
+                                                          @NotNull Executor executor) {
+        Map<ItemStack, Throwable> failures = new IdentityHashMap<>();
+        Map<ItemDisplay, List<ItemStack>> byDisplay = new LinkedHashMap<>();
+        for (ItemStack item : items) {
+            try {
+                ItemDisplay itemDisplay = display.apply(item);
+                if (itemDisplay != null)
+                    byDisplay.computeIfAbsent(itemDisplay, k -> new ArrayList<>()).add(item);
+            } catch (RuntimeException e) {
+                failures.put(item, e);
+            }
+        }
+        Map<ItemDisplay, CompletableFuture<PreparedItemDisplay>> prepared = new HashMap<>();
+        if (byDisplay.size() == 1) {
+            ItemDisplay only = byDisplay.keySet().iterator().next();
+            CompletableFuture<PreparedItemDisplay> future = new CompletableFuture<>();
+            try {
+                future.complete(prepare.apply(only));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+            prepared.put(only, future);
+        } else {
+            for (ItemDisplay itemDisplay : byDisplay.keySet())
+                prepared.put(itemDisplay, CompletableFuture.supplyAsync(() -> prepare.apply(itemDisplay), executor));
+        }
+        for (Map.Entry<ItemDisplay, List<ItemStack>> entry : byDisplay.entrySet()) {
+            PreparedItemDisplay preparedDisplay;
+            try {
+                preparedDisplay = prepared.get(entry.getKey()).join();
+            } catch (CompletionException e) {
+                for (ItemStack item : entry.getValue())
+                    failures.put(item, e.getCause());
+                continue;
+            }
+            for (ItemStack item : entry.getValue()) {
+                try {
+                    preparedDisplay.applyTo(item);
+                } catch (RuntimeException e) {
+                    failures.put(item, e);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(failures);
+    }
+
+    /**
+     * Sets the executor that {@link #decorateAll(Collection, Function)} converts
+     * components on. This is {@link ForkJoinPool#commonPool()} by default.
+     * On Java 21+, a virtual thread per task executor can be used as well.
+     *
+     * @param executor The executor to use
+     */
+    public static void setDecorationExecutor(@NotNull Executor executor) {
+        decorationExecutor = Objects.requireNonNull(executor, "executor");
     }
 
     /**
@@ -158,7 +317,7 @@ public final class SpigotAdventure {
      *                                  exists
      */
     public static Objective registerNewObjective(@NotNull Scoreboard scoreboard, @NotNull String name, @NotNull String criteria, @NotNull Component displayName) {
-        return SCOREBOARD.registerNewObjective(scoreboard, name, criteria, displayName);
+        return Backends.SCOREBOARD.registerNewObjective(scoreboard, name, criteria, displayName);
     }
 
     /**
@@ -170,7 +329,7 @@ public final class SpigotAdventure {
      *                                  characters.
      */
     public static void setDisplayName(Objective objective, Component displayName) {
-        SCOREBOARD.setDisplayName(objective, displayName);
+        Backends.SCOREBOARD.setDisplayName(objective, displayName);
     }
 
     /**
@@ -180,7 +339,81 @@ public final class SpigotAdventure {
      * @throws IllegalStateException if this objective has been unregistered
      */
     public static Component getDisplayName(Objective objective) {
-        return SCOREBOARD.getDisplayName(objective);
+        return Backends.SCOREBOARD.getDisplayName(objective);
+    }
+
+    /**
+     * Sets the prefix prepended to the display of entries on this team.
+     *
+     * @param team   team to set for
+     * @param prefix new prefix
+     * @throws IllegalStateException if this team has been unregistered
+     */
+    public static void setPrefix(@NotNull Team team, @NotNull Component prefix) {
+        Backends.SCOREBOARD.setPrefix(team, prefix);
+    }
+
+    /**
+     * Sets the suffix appended to the display of entries on this team.
+     *
+     * @param team   team to set for
+     * @param suffix the new suffix for this team.
+     * @throws IllegalStateException if this team has been unregistered
+     */
+    public static void setSuffix(@NotNull Team team, @NotNull Component suffix) {
+        Backends.SCOREBOARD.setSuffix(team, suffix);
+    }
+
+    /**
+     * Prepares adventure4spigot for the given plugin. This should be called
+     * in {@link Plugin#onEnable()}.
+     * <p>
+     * The backends of this server are probed straight away rather than on
+     * first use, and the results of the expensive probes are saved to
+     * {@code adventure4spigot-probes.properties} in the plugin's data folder.
+     * Later boots of the same server version reuse them, and only verify that
+     * they still hold. The time each step took is logged, and is available
+     * through {@link #getStartupTimings()}.
+     *
+     * @param plugin The plugin using adventure4spigot
+     */
+    public static void enable(@NotNull Plugin plugin) {
+        Map<String, Long> timings = new LinkedHashMap<>();
+        long start = System.nanoTime();
+        ProbeCache.load(new File(plugin.getDataFolder(), PROBE_FILE));
+        long time = lap(timings, "probe cache", start);
+        Objects.requireNonNull(Backends.ITEM);
+        time = lap(timings, "item backend", time);
+        Objects.requireNonNull(Backends.SCOREBOARD);
+        time = lap(timings, "scoreboard backend", time);
+        NmsComponents.isSupported();
+        NmsComponents.isReadSupported();
+        time = lap(timings, "nms components", time);
+        AdventureItem.supportsDirectItemWrites();
+        time = lap(timings, "item tag writer", time);
+        VirtualScoreboard.isSupported();
+        time = lap(timings, "virtual scoreboards", time);
+        try {
+            ProbeCache.save();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not save " + PROBE_FILE + ": " + e);
+        }
+        lap(timings, "save", time);
+        startupTimings = Collections.unmodifiableMap(timings);
+
+        StringJoiner report = new StringJoiner(", ", "Enabled adventure4spigot in " + millis(System.nanoTime() - start) + " (", ")");
+        timings.forEach((step, nanos) -> report.add(step + " " + millis(nanos)));
+        plugin.getLogger().info(report + (ProbeCache.isReused() ? ", reused saved probes" : ", probed from scratch"));
+    }
+
+    /**
+     * Returns how long each step of {@link #enable(Plugin)} took
+     *
+     * @return An immutable map of steps to their duration in nanoseconds,
+     * in the order they ran. Empty if adventure4spigot was not enabled.
+     */
+    public static @NotNull Map<String, Long> getStartupTimings() {
+        return startupTimings;
     }
 
     /**
@@ -189,19 +422,182 @@ public final class SpigotAdventure {
      * @return If adventure is natively supported
      */
     public static boolean isNativelySupported() {
-        return IS_NATIVELY_SUPPORTED;
+        return Backends.IS_NATIVELY_SUPPORTED;
     }
 
-    private static final boolean IS_NATIVELY_SUPPORTED = checkIfSupported();
-    private static final AdventureItem ITEM = AdventureItem.ITEM.get();
-    private static final AdventureScoreboard SCOREBOARD = AdventureScoreboard.SCOREBOARD.get();
+    /**
+     * Sets the maximum number of conversions each backend caches, such as the
+     * JSON or legacy strings produced from display names and lore.
+     * <p>
+     * Caching is disabled by default. Servers that set the same names and lore
+     * on many items benefit the most from it.
+     *
+     * @param maximumSize Maximum number of entries per cache. {@code 0} disables
+     *                    caching
+     * @throws IllegalArgumentException if maximumSize is negative
+     */
+    public static void setConversionCacheSize(long maximumSize) {
+        ConversionCache.setMaximumSize(maximumSize);
+    }
 
-    private static boolean checkIfSupported() {
-        try {
-            Method method = GameVersion.ocbClass("inventory.ItemMeta").getDeclaredMethod("displayName");
-            return method.getReturnType().getSimpleName().equals("Component");
-        } catch (NoSuchMethodException ignored) {
-            return false;
+    /**
+     * Sets how long cached conversions are kept after they were last used.
+     * The default is 10 minutes.
+     *
+     * @param duration How long conversions are kept
+     * @param unit     The unit of the duration
+     * @throws IllegalArgumentException if duration is not positive
+     * @see #setConversionCacheSize(long)
+     */
+    public static void setConversionCacheExpiry(long duration, @NotNull TimeUnit unit) {
+        ConversionCache.setExpireAfterAccess(duration, unit);
+    }
+
+    /**
+     * Returns the hit and miss statistics of every conversion cache
+     *
+     * @return The statistics, keyed by the name of each cache
+     * @see #setConversionCacheSize(long)
+     */
+    public static Map<String, ConversionCache.Stats> getConversionCacheStats() {
+        return ConversionCache.allStats();
+    }
+
+    /**
+     * Sets whether display names, lore and objective titles that are set to
+     * the value they already have are skipped, instead of being converted and
+     * written again. For objectives, this also avoids sending a packet.
+     * <p>
+     * A write is only skipped if the value is equal to the last one set through
+     * this library, and the item meta or objective still stores exactly what
+     * that write stored. This is disabled by default, and is not supported on
+     * Paper.
+     *
+     * @param enabled Whether unchanged writes are skipped
+     */
+    public static void setWriteSuppression(boolean enabled) {
+        WriteTracker.setSuppressionEnabled(enabled);
+    }
+
+    /**
+     * Returns the number of writes skipped because they would not change anything
+     *
+     * @return The number of skipped writes, keyed by what was written
+     * @see #setWriteSuppression(boolean)
+     */
+    public static Map<String, Long> getSuppressedWrites() {
+        return WriteTracker.allSuppressedWrites();
+    }
+
+    /**
+     * Sets whether reading display names, lore and objective titles returns
+     * the component last set through this library, instead of converting the
+     * stored value back, as long as the item meta or objective still stores
+     * exactly what that write stored.
+     * <p>
+     * This is disabled by default, and is not supported on Paper.
+     *
+     * @param enabled Whether reads are answered from previous writes
+     */
+    public static void setReadMirror(boolean enabled) {
+        WriteTracker.setMirrorEnabled(enabled);
+    }
+
+    /**
+     * Returns the number of reads answered from previous writes
+     *
+     * @return The number of mirrored reads, keyed by what was read
+     * @see #setReadMirror(boolean)
+     */
+    public static Map<String, Long> getMirroredReads() {
+        return WriteTracker.allMirrorHits();
+    }
+
+    /**
+     * Sets whether {@link #getLore(ItemMeta)} returns a read-only view that only
+     * converts the lines that are accessed, instead of converting every line
+     * up front.
+     * <p>
+     * This is disabled by default. It helps when callers usually check
+     * the size or only a few lines of long lore.
+     *
+     * @param lazy Whether lore should be converted lazily
+     */
+    public static void setLazyLore(boolean lazy) {
+        lazyLore = lazy;
+    }
+
+    /**
+     * Returns whether {@link #getLore(ItemMeta)} converts lines lazily
+     *
+     * @return If lazy lore is enabled
+     * @see #setLazyLore(boolean)
+     */
+    public static boolean isLazyLore() {
+        return lazyLore;
+    }
+
+    /**
+     * Sets whether identical display names and lore are shared between items,
+     * instead of every item holding its own copy of the same JSON or legacy
+     * string. Versions 1.14 - 1.16.4 store them as NMS components, which are
+     * mutable, so they are not shared there.
+     * <p>
+     * This is disabled by default. It helps servers that keep many items with
+     * the same lore loaded, such as in inventories, chests and shops. Shared
+     * values are weakly referenced, and are dropped once no item uses them.
+     *
+     * @param enabled Whether names and lore are shared
+     */
+    public static void setInterning(boolean enabled) {
+        InternPool.setEnabled(enabled);
+    }
+
+    /**
+     * Returns the estimated number of bytes saved by sharing names and lore
+     *
+     * @return The estimated bytes saved
+     * @see #setInterning(boolean)
+     */
+    public static long getInternedBytesSaved() {
+        return InternPool.getBytesSaved();
+    }
+
+    private static final String PROBE_FILE = "adventure4spigot-probes.properties";
+    private static final String CREATE_INVENTORY = "inventory.create";
+
+    private static volatile boolean lazyLore = false;
+    private static volatile Executor decorationExecutor = ForkJoinPool.commonPool();
+
+    private static volatile Map<String, Long> startupTimings = Collections.emptyMap();
+
+    private static long lap(Map<String, Long> timings, String step, long since) {
+        long now = System.nanoTime();
+        timings.put(step, now - since);
+        return now;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000D);
+    }
+
+    /**
+     * Holds the backends, so that they are only probed when first used or
+     * when {@link #enable(Plugin)} is called
+     */
+    private static final class Backends {
+
+        private static final boolean IS_NATIVELY_SUPPORTED = checkIfSupported();
+        private static final AdventureItem ITEM = AdventureItem.ITEM.get();
+        private static final AdventureScoreboard SCOREBOARD = AdventureScoreboard.SCOREBOARD.get();
+
+        private static boolean checkIfSupported() {
+            try {
+                Method method = ItemMeta.class.getDeclaredMethod("displayName");
+                return method.getReturnType().getSimpleName().equals("Component");
+            } catch (NoSuchMethodException ignored) {
+                return false;
+            }
         }
     }
 }
@@ -0,0 +1,89 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.adapter;
+
+import adventure4spigot.item.AdventureItem;
+import adventure4spigot.scoreboard.AdventureScoreboard;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A backend compiled against one specific server version, which calls the
+ * server's classes directly instead of resolving them through reflection.
+ * <p>
+ * Adapters are shipped as separate artifacts and discovered through
+ * {@link java.util.ServiceLoader}, by listing the implementation in
+ * {@code META-INF/services/adventure4spigot.adapter.VersionAdapter}. The
+ * compatible adapter with the highest {@link #getPriority() priority} is used,
+ * and the reflective backends cover anything it does not provide.
+ *
+ * @see VersionAdapters
+ */
+public interface VersionAdapter {
+
+    /**
+     * Returns the name of this adapter, such as the server version it
+     * was compiled against
+     *
+     * @return The adapter name
+     */
+    @NotNull String getName();
+
+    /**
+     * Checks whether this adapter can run on the current server. This must
+     * not load any of the server classes this adapter was compiled against.
+     *
+     * @return If the adapter is compatible
+     */
+    boolean isCompatible();
+
+    /**
+     * Returns the priority of this adapter over other compatible ones. Platform
+     * adapters, such as the Paper one, should be preferred over NMS ones.
+     *
+     * @return The priority
+     */
+    default int getPriority() {
+        return 0;
+    }
+
+    /**
+     * Creates the item backend of this adapter
+     *
+     * @return The backend, or null to use the reflective one
+     */
+    default @Nullable AdventureItem createItemBackend() {
+        return null;
+    }
+
+    /**
+     * Creates the scoreboard backend of this adapter
+     *
+     * @return The backend, or null to use the reflective one
+     */
+    default @Nullable AdventureScoreboard createScoreboardBackend() {
+        return null;
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.adapter;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Finds the {@link VersionAdapter} of the current server
+ */
+public final class VersionAdapters {
+
+    private VersionAdapters() {}
+
+    @SuppressWarnings("Guava")
+    private static final Supplier<VersionAdapter> ADAPTER = Suppliers.memoize(VersionAdapters::find);
+
+    /**
+     * Returns the compatible adapter with the highest priority on the classpath
+     *
+     * @return The adapter, or null if there is none
+     */
+    public static @Nullable VersionAdapter get() {
+        return ADAPTER.get();
+    }
+
+    private static VersionAdapter find() {
+        // adapters are shaded next to this class, not on the server's classpath
+        Iterator<VersionAdapter> adapters = ServiceLoader.load(
+                VersionAdapter.class,
+                VersionAdapter.class.getClassLoader()
+        ).iterator();
+        VersionAdapter found = null;
+        while (true) {
+            try {
+                if (!adapters.hasNext())
+                    return found;
+                VersionAdapter adapter = adapters.next();
+                if (adapter.isCompatible() && (found == null || adapter.getPriority() > found.getPriority()))
+                    found = adapter;
+            } catch (ServiceConfigurationError | LinkageError e) {
+                // an adapter that cannot even be loaded is certainly not ours
+            }
+        }
+    }
+}
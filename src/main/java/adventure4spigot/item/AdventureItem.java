@@ -23,10 +23,10 @@
  */
 package adventure4spigot.item;
 
-import adventure4spigot.util.GameVersion;
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 import net.kyori.adventure.text.Component;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.List;
@@ -45,16 +45,97 @@ public interface AdventureItem {
 
     void setLore(ItemMeta meta, List<Component> lore);
 
+    /**
+     * Returns a read-only view of the lore that only converts the lines
+     * that are accessed. Backends that cannot do better return {@link #getLore(ItemMeta)}.
+     *
+     * @param meta Item meta to get from
+     * @return The lore, or null if there is none
+     */
+    default List<Component> getLazyLore(ItemMeta meta) {
+        return getLore(meta);
+    }
+
+    /**
+     * Converts the given component into the form this backend stores display
+     * names and lore lines in
+     *
+     * @param component Component to convert
+     * @return The converted value
+     * @see PreparedItemDisplay
+     */
+    default Object toNative(Component component) {
+        return component;
+    }
+
+    /**
+     * Sets a display name that was converted with {@link #toNative(Component)}
+     *
+     * @param meta        Item meta to set for
+     * @param displayName The converted display name, or null to remove it
+     */
+    default void setNativeDisplayName(ItemMeta meta, Object displayName) {
+        setDisplayName(meta, (Component) displayName);
+    }
+
+    /**
+     * Sets lore whose lines were converted with {@link #toNative(Component)}.
+     * The list is stored as-is where possible.
+     *
+     * @param meta Item meta to set for
+     * @param lore The converted lore, or null to remove it
+     */
+    @SuppressWarnings("unchecked")
+    default void setNativeLore(ItemMeta meta, List<?> lore) {
+        setLore(meta, (List<Component>) lore);
+    }
+
+    /**
+     * Sets the display name of the given item. Items backed by NMS items are
+     * written to directly where supported, and other items through their meta.
+     *
+     * @param item        Item to set for
+     * @param displayName The display name, or null to remove it
+     */
+    default void setDisplayName(ItemStack item, Component displayName) {
+        if (ItemTagWriter.setDisplayName(item, displayName))
+            return;
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null)
+            return;
+        setDisplayName(meta, displayName);
+        item.setItemMeta(meta);
+    }
+
+    /**
+     * Sets the lore of the given item. Items backed by NMS items are
+     * written to directly where supported, and other items through their meta.
+     *
+     * @param item Item to set for
+     * @param lore The lore, or null to remove it
+     */
+    default void setLore(ItemStack item, List<Component> lore) {
+        if (ItemTagWriter.setLore(item, lore))
+            return;
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null)
+            return;
+        setLore(meta, lore);
+        item.setItemMeta(meta);
+    }
+
+    /**
+     * Returns whether display names and lore can be written straight into
+     * item stacks on this server
+     *
+     * @return If direct item writes are supported
+     * @see #setDisplayName(ItemStack, Component)
+     */
+    static boolean supportsDirectItemWrites() {
+        return ItemTagWriter.isSupported();
+    }
+
     @SuppressWarnings("Guava")
-    Supplier<AdventureItem> ITEM = Suppliers.memoize(() -> {
-        if (ByPaper.isSupported())
-            return new ByPaper();
-        else if (GameVersion.EXACT >= 16.5)
-            return new ByComponentString();
-        else if (GameVersion.PROTOCOL >= 14 && GameVersion.PROTOCOL <= 16)
-            return new ByComponent();
-        else
-            return new ByRawString();
-    });
+    Supplier<AdventureItem> ITEM = Suppliers.memoize(ItemBackends::select);
 
 }
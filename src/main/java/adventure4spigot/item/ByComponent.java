@@ -23,20 +23,23 @@
  */
 package adventure4spigot.item;
 
+import adventure4spigot.jfr.FlightEvents;
+import adventure4spigot.metrics.Metrics;
 import adventure4spigot.reflect.MethodCaller;
 import adventure4spigot.reflect.MethodCaller.BoundMethodCaller;
 import adventure4spigot.reflect.ReflectField;
+import adventure4spigot.util.ConversionCache;
 import adventure4spigot.util.GameVersion;
+import adventure4spigot.util.JsonComponentSerializer;
+import adventure4spigot.util.LazyComponentList;
+import adventure4spigot.util.NmsComponents;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import static adventure4spigot.reflect.ReflectField.getterAndSetter;
-import static adventure4spigot.util.AdventureUtils.fromAdventure;
-import static adventure4spigot.util.AdventureUtils.toAdventure;
+import static adventure4spigot.reflect.ReflectField.fieldHandle;
 import static adventure4spigot.util.GameVersion.nmsClass;
 import static adventure4spigot.util.GameVersion.ocbClass;
 
@@ -44,10 +47,10 @@ import static adventure4spigot.util.GameVersion.ocbClass;
  * Versions 1.14 - 1.16.4 store display name and lore as IChatBaseComponent.
  * Therefore, we must convert our strings to components
  */
-final class ByComponent implements AdventureItem {
+final class ByComponent implements AdventureItem, RawItemAccess {
 
-    private static final GsonComponentSerializer SERIALIZER = GameVersion.supportsHexColors() ?
-            GsonComponentSerializer.gson() : GsonComponentSerializer.colorDownsamplingGson();
+    private static final JsonComponentSerializer SERIALIZER = GameVersion.supportsHexColors() ?
+            JsonComponentSerializer.gson() : JsonComponentSerializer.colorDownsamplingGson();
 
     private static final Class<?> ITEM_META = ocbClass("inventory.CraftMetaItem");
     private static final Class<?> COMPONENT = nmsClass("IChatBaseComponent");
@@ -65,15 +68,16 @@ final class ByComponent implements AdventureItem {
         }
     }
 
-    private static final ReflectField<Object> DISPLAY_NAME = getterAndSetter(ITEM_META, "displayName");
-    private static final ReflectField<List<Object>> LORE = getterAndSetter(ITEM_META, "lore");
+    private static final ReflectField<Object> DISPLAY_NAME = fieldHandle(ITEM_META, "displayName");
+    private static final ReflectField<Object> LORE = fieldHandle(ITEM_META, "lore");
+
+    private static final ConversionCache<String> CACHE = ConversionCache.create("item.ByComponent");
 
     @Override public Component getDisplayName(ItemMeta meta) {
-        Object/*IChatBaseComponent*/ displayName = DISPLAY_NAME.get(meta);
+        Object/*IChatBaseComponent*/ displayName = (Object) DISPLAY_NAME.get(meta);
         if (displayName == null)
             return null;
-        String displayNameJson = (String) C_TO_S.call(displayName);
-        return SERIALIZER.deserialize(displayNameJson);
+        return fromNms(displayName);
     }
 
     @Override public void setDisplayName(ItemMeta meta, Component displayName) {
@@ -81,34 +85,100 @@ final class ByComponent implements AdventureItem {
             DISPLAY_NAME.set(meta, null);
             return;
         }
-        String displayNameJson = SERIALIZER.serialize(displayName);
-        Object component/*IChatBaseComponent*/ = S_TO_C.call(displayNameJson);
-        DISPLAY_NAME.set(meta, component);
+        DISPLAY_NAME.set(meta, toNms(displayName));
     }
 
     @Override public List<Component> getLore(ItemMeta meta) {
-        List<Object> lore = LORE.get(meta);
+        List<?> lore = (List<?>) LORE.get(meta);
         if (lore == null)
             return null;
         List<Component> list = new ArrayList<>();
         for (Object line : lore) {
-            String lineJson = (String) C_TO_S.call(line);
-            list.add(SERIALIZER.deserialize(lineJson));
+            list.add(fromNms(line));
         }
         return list;
     }
 
+    @Override public List<Component> getLazyLore(ItemMeta meta) {
+        List<?> lore = (List<?>) LORE.get(meta);
+        return lore != null ? LazyComponentList.of(lore, ByComponent::fromNms) : null;
+    }
+
     @Override public void setLore(ItemMeta meta, List<Component> lore) {
         if (lore == null) {
             LORE.set(meta, null);
             return;
         }
-        List<Object> componentsLore = new ArrayList<>();
-        for (Component line : lore) {
-            String json = SERIALIZER.serialize(line);
-            Object component = S_TO_C.call(json);
-            componentsLore.add(component);
+        List<Object> components = new ArrayList<>(lore.size());
+        for (Component line : lore)
+            components.add(toNms(line));
+        LORE.set(meta, components);
+    }
+
+    @Override public Object getRawDisplayName(ItemMeta meta) {
+        return (Object) DISPLAY_NAME.get(meta);
+    }
+
+    @Override public Object getRawLore(ItemMeta meta) {
+        return (Object) LORE.get(meta);
+    }
+
+    @Override public boolean isLossless() {
+        // before 1.16, hex colors are downsampled
+        return GameVersion.supportsHexColors();
+    }
+
+    /**
+     * NMS components are mutable, so the native form is their JSON, and every
+     * item meta gets its own NMS components parsed from it. That parse runs
+     * for each line of each item, see {@link PreparedItemDisplay}.
+     */
+    @Override public Object toNative(Component component) {
+        return CACHE.get(component, ByComponent::serialize);
+    }
+
+    @Override public void setNativeDisplayName(ItemMeta meta, Object displayName) {
+        DISPLAY_NAME.set(meta, displayName == null ? null : S_TO_C.call(displayName));
+    }
+
+    @Override public void setNativeLore(ItemMeta meta, List<?> lore) {
+        if (lore == null) {
+            LORE.set(meta, null);
+            return;
         }
-        LORE.set(meta, componentsLore);
+        List<Object> components = new ArrayList<>(lore.size());
+        for (Object line : lore)
+            components.add(S_TO_C.call(line));
+        LORE.set(meta, components);
+    }
+
+    /**
+     * Converts the component to JSON the same way CraftBukkit writes
+     * display names and lore into item tags
+     */
+    static String toJson(Component component) {
+        return (String) C_TO_S.call(toNms(component));
+    }
+
+    /**
+     * Converts the component into a new IChatBaseComponent. They are mutable,
+     * so only their JSON goes through the conversion cache.
+     */
+    private static Object/*IChatBaseComponent*/ toNms(Component component) {
+        Object nms = NmsComponents.toNms(component);
+        if (nms != null)
+            return nms;
+        return S_TO_C.call(CACHE.get(component, ByComponent::serialize));
+    }
+
+    private static String serialize(Component component) {
+        return Metrics.countJson(FlightEvents.serialize("item.ByComponent", SERIALIZER, component));
+    }
+
+    private static Component fromNms(Object/*IChatBaseComponent*/ component) {
+        Component adventure = NmsComponents.fromNms(component);
+        if (adventure != null)
+            return adventure;
+        return SERIALIZER.deserialize((String) C_TO_S.call(component));
     }
 }
@@ -35,8 +35,9 @@ import static adventure4spigot.util.GameVersion.ocbClass;
 /**
  * Accesses Paper's native support for Adventure.
  * <p>
- * Unfortunately, we can't access methods without using reflection, as we can't
- * build against Paper. This may be improved in the future
+ * The core can't build against Paper, so methods are accessed through
+ * reflection. This is only used when the Paper adapter is not shaded, which
+ * calls them directly.
  */
 final class ByPaper implements AdventureItem {
 
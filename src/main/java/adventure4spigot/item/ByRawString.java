@@ -24,45 +24,86 @@
 package adventure4spigot.item;
 
 import adventure4spigot.reflect.ReflectField;
+import adventure4spigot.util.ConversionCache;
+import adventure4spigot.util.InternPool;
+import adventure4spigot.util.LazyComponentList;
+import adventure4spigot.util.LegacySectionSerializer;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.List;
 
-import static adventure4spigot.reflect.ReflectField.getterAndSetter;
-import static adventure4spigot.util.AdventureUtils.fromAdventure;
+import static adventure4spigot.reflect.ReflectField.fieldHandle;
 import static adventure4spigot.util.AdventureUtils.toAdventure;
 import static adventure4spigot.util.GameVersion.ocbClass;
 
 /**
  * Versions 1.13.2 and below store display name and lore as literal
  * strings (not JSON), for example '§cRed'. Therefore, we should use
- * a {@link LegacyComponentSerializer} for serializing components
+ * a {@link LegacySectionSerializer} for serializing components
  */
-final class ByRawString implements AdventureItem {
+final class ByRawString implements AdventureItem, RawItemAccess {
 
-    private static final LegacyComponentSerializer SERIALIZER = LegacyComponentSerializer.legacySection();
+    private static final LegacySectionSerializer SERIALIZER = LegacySectionSerializer.legacySection();
+    private static final ConversionCache<String> CACHE = ConversionCache.create("item.ByRawString");
 
     private static final Class<?> ITEM_META = ocbClass("inventory.CraftMetaItem");
-    private static final ReflectField<String> DISPLAY_NAME = getterAndSetter(ITEM_META, "displayName");
-    private static final ReflectField<List<String>> LORE = getterAndSetter(ITEM_META, "lore");
+    private static final ReflectField<Object> DISPLAY_NAME = fieldHandle(ITEM_META, "displayName");
+    private static final ReflectField<Object> LORE = fieldHandle(ITEM_META, "lore");
 
     @Override public Component getDisplayName(ItemMeta meta) {
-        String displayName = DISPLAY_NAME.get(meta);
+        String displayName = (String) DISPLAY_NAME.get(meta);
         return displayName == null ? null : SERIALIZER.deserialize(displayName);
     }
 
     @Override public void setDisplayName(ItemMeta meta, Component displayName) {
-        DISPLAY_NAME.set(meta, displayName == null ? null : SERIALIZER.serialize(displayName));
+        DISPLAY_NAME.set(meta, displayName == null ? null : InternPool.intern(CACHE.get(displayName, SERIALIZER::serialize)));
     }
 
     @Override public List<Component> getLore(ItemMeta meta) {
-        List<String> lore = LORE.get(meta);
+        @SuppressWarnings("unchecked")
+        List<String> lore = (List<String>) LORE.get(meta);
         return lore != null ? toAdventure(SERIALIZER, lore) : null;
     }
 
+    @Override public List<Component> getLazyLore(ItemMeta meta) {
+        @SuppressWarnings("unchecked")
+        List<String> lore = (List<String>) LORE.get(meta);
+        return lore != null ? LazyComponentList.of(lore, SERIALIZER::deserialize) : null;
+    }
+
     @Override public void setLore(ItemMeta meta, List<Component> lore) {
-        LORE.set(meta, lore != null ? fromAdventure(SERIALIZER, lore) : null);
+        if (lore == null) {
+            LORE.set(meta, null);
+            return;
+        }
+        List<String> legacy = CACHE.getAll(lore, SERIALIZER::serialize);
+        legacy.replaceAll(InternPool::intern);
+        LORE.set(meta, legacy);
+    }
+
+    @Override public Object getRawDisplayName(ItemMeta meta) {
+        return (Object) DISPLAY_NAME.get(meta);
+    }
+
+    @Override public Object getRawLore(ItemMeta meta) {
+        return (Object) LORE.get(meta);
+    }
+
+    @Override public boolean isLossless() {
+        // legacy text drops events, fonts and hex colors
+        return false;
+    }
+
+    @Override public Object toNative(Component component) {
+        return CACHE.get(component, SERIALIZER::serialize);
+    }
+
+    @Override public void setNativeDisplayName(ItemMeta meta, Object displayName) {
+        DISPLAY_NAME.set(meta, displayName);
+    }
+
+    @Override public void setNativeLore(ItemMeta meta, List<?> lore) {
+        LORE.set(meta, lore);
     }
 }
@@ -0,0 +1,104 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.item;
+
+import com.google.common.collect.ImmutableList;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An immutable display name and lore of an item.
+ * <p>
+ * Displays are compared by value, so equal displays only need to be
+ * converted once when decorating many items.
+ *
+ * @see PreparedItemDisplay
+ */
+public final class ItemDisplay {
+
+    private final @Nullable Component displayName;
+    private final @Nullable List<Component> lore;
+
+    private ItemDisplay(@Nullable Component displayName, @Nullable List<Component> lore) {
+        this.displayName = displayName;
+        this.lore = lore == null ? null : ImmutableList.copyOf(lore);
+    }
+
+    /**
+     * Creates a new item display
+     *
+     * @param displayName The display name. Null removes the display name when applied
+     * @param lore        The lore. Null removes the lore when applied
+     * @return The item display
+     */
+    public static @NotNull ItemDisplay of(@Nullable Component displayName, @Nullable List<Component> lore) {
+        return new ItemDisplay(displayName, lore);
+    }
+
+    /**
+     * Converts this display into the form the current backend stores
+     *
+     * @return The prepared display
+     */
+    public @NotNull PreparedItemDisplay prepare() {
+        return PreparedItemDisplay.of(displayName, lore);
+    }
+
+    /**
+     * Returns the display name
+     *
+     * @return The display name
+     */
+    public @Nullable Component getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Returns the lore
+     *
+     * @return An immutable list of the lore
+     */
+    public @Nullable List<Component> getLore() {
+        return lore;
+    }
+
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ItemDisplay)) return false;
+        ItemDisplay that = (ItemDisplay) o;
+        return Objects.equals(displayName, that.displayName) && Objects.equals(lore, that.lore);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(displayName, lore);
+    }
+
+    @Override public String toString() {
+        return "ItemDisplay(displayName=" + displayName + ", lore=" + lore + ")";
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.item;
+
+import adventure4spigot.reflect.MethodCaller;
+import adventure4spigot.reflect.ReflectField;
+import adventure4spigot.util.ConversionCache;
+import adventure4spigot.util.GameVersion;
+import adventure4spigot.util.InternPool;
+import adventure4spigot.util.JsonComponentSerializer;
+import adventure4spigot.util.ProbeCache;
+import lombok.SneakyThrows;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static adventure4spigot.reflect.ReflectField.fieldHandle;
+import static adventure4spigot.util.GameVersion.nmsClass;
+import static adventure4spigot.util.GameVersion.ocbClass;
+
+/**
+ * Writes display names and lore straight into the NBT tag of CraftBukkit
+ * item stacks, which avoids copying the whole item meta twice through
+ * {@link ItemStack#getItemMeta()} and {@link ItemStack#setItemMeta}.
+ * <p>
+ * Versions 1.14 - 1.17 store both as JSON strings in the {@code display}
+ * compound, and have stable NBT member names. The strings are produced the
+ * same way CraftBukkit produces them from the item meta, which is checked
+ * once when this class is initialized by writing the same item both ways
+ * and comparing the tags.
+ */
+final class ItemTagWriter {
+
+    private ItemTagWriter() {}
+
+    private static final int COMPOUND_TYPE = 10;
+    private static final String STRING_PROBE = "item.tag.string";
+
+    private static final ConversionCache<String> CACHE = ConversionCache.create("item.ItemTagWriter");
+
+    private static final Class<?> CRAFT_ITEM;
+    private static final ReflectField<Object> HANDLE;
+    private static final MethodCaller GET_TAG, SET_TAG;
+    private static final MethodCaller HAS_KEY_OF_TYPE, GET_COMPOUND, SET, REMOVE, IS_EMPTY;
+    private static final MethodHandle NEW_COMPOUND, NEW_LIST, NEW_STRING;
+    private static final Function<Component, String> TO_JSON;
+    private static final boolean SUPPORTED;
+
+    static {
+        Class<?> craftItem = null;
+        ReflectField<Object> handle = null;
+        MethodCaller getTag = null, setTag = null, hasKeyOfType = null, getCompound = null, set = null, remove = null,
+                isEmpty = null;
+        MethodHandle newCompound = null, newList = null, newString = null;
+        Function<Component, String> toJson = null;
+        boolean supported = false;
+        try {
+            AdventureItem item = ItemBackends.unwrap(AdventureItem.ITEM.get());
+            if (GameVersion.PROTOCOL >= 14 && !(item instanceof ByRawString)) {
+                Class<?> itemStack = nmsClass("ItemStack", "world.item.ItemStack");
+                Class<?> base = nmsClass("NBTBase", "nbt.NBTBase");
+                Class<?> compound = nmsClass("NBTTagCompound", "nbt.NBTTagCompound");
+                Class<?> list = nmsClass("NBTTagList", "nbt.NBTTagList");
+                Class<?> string = nmsClass("NBTTagString", "nbt.NBTTagString");
+                craftItem = ocbClass("inventory.CraftItemStack");
+                handle = fieldHandle(craftItem, "handle");
+                getTag = MethodCaller.wrap(itemStack.getMethod("getTag"));
+                setTag = MethodCaller.wrap(itemStack.getMethod("setTag", compound));
+                hasKeyOfType = MethodCaller.wrap(compound.getMethod("hasKeyOfType", String.class, int.class));
+                getCompound = MethodCaller.wrap(compound.getMethod("getCompound", String.class));
+                set = MethodCaller.wrap(compound.getMethod("set", String.class, base));
+                remove = MethodCaller.wrap(compound.getMethod("remove", String.class));
+                isEmpty = MethodCaller.wrap(compound.getMethod("isEmpty"));
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                newCompound = lookup.unreflectConstructor(compound.getConstructor())
+                        .asType(MethodType.methodType(Object.class));
+                newList = lookup.unreflectConstructor(list.getConstructor())
+                        .asType(MethodType.methodType(List.class));
+                // 1.15+ replaced the constructor with a factory
+                String factory = ProbeCache.get(STRING_PROBE, () -> hasFactory(string) ? "a" : "<init>");
+                newString = factory.equals("a")
+                        ? lookup.unreflect(string.getMethod("a", String.class))
+                        : lookup.unreflectConstructor(string.getConstructor(String.class));
+                newString = newString.asType(MethodType.methodType(Object.class, String.class));
+                if (item instanceof ByComponent)
+                    toJson = ByComponent::toJson;
+                else {
+                    JsonComponentSerializer serializer = JsonComponentSerializer.gson();
+                    toJson = component -> CACHE.get(component, serializer::serialize);
+                }
+                supported = true;
+            }
+        } catch (Throwable t) {
+            ProbeCache.invalidate(STRING_PROBE);
+            supported = false;
+        }
+        CRAFT_ITEM = craftItem;
+        HANDLE = handle;
+        GET_TAG = getTag;
+        SET_TAG = setTag;
+        HAS_KEY_OF_TYPE = hasKeyOfType;
+        GET_COMPOUND = getCompound;
+        SET = set;
+        REMOVE = remove;
+        IS_EMPTY = isEmpty;
+        NEW_COMPOUND = newCompound;
+        NEW_LIST = newList;
+        NEW_STRING = newString;
+        TO_JSON = toJson;
+        SUPPORTED = supported && ProbeCache.getBoolean("item.tag.verified", ItemTagWriter::selfTest);
+    }
+
+    static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    /**
+     * Sets the display name of the given item, if it is backed by an NMS item
+     *
+     * @param item        Item to set for
+     * @param displayName The display name, or null to remove it
+     * @return If the name was written. If not, the item meta must be used instead
+     */
+    static boolean setDisplayName(ItemStack item, @Nullable Component displayName) {
+        Object handle = handleOf(item);
+        if (handle == null)
+            return false;
+        writeDisplayName(handle, displayName == null ? null : toJson(displayName));
+        return true;
+    }
+
+    /**
+     * Sets the lore of the given item, if it is backed by an NMS item
+     *
+     * @param item Item to set for
+     * @param lore The lore, or null to remove it
+     * @return If the lore was written. If not, the item meta must be used instead
+     */
+    static boolean setLore(ItemStack item, @Nullable List<Component> lore) {
+        Object handle = handleOf(item);
+        if (handle == null)
+            return false;
+        List<String> json = null;
+        if (lore != null) {
+            json = new ArrayList<>(lore.size());
+            for (Component line : lore)
+                json.add(toJson(line));
+        }
+        writeLore(handle, json);
+        return true;
+    }
+
+    /**
+     * Sets the display name and lore of the given item to values converted
+     * with {@link #toJson(Component)}, if it is backed by an NMS item
+     *
+     * @param item        Item to set for
+     * @param displayName The display name JSON, or null to remove it
+     * @param lore        The lore JSON, or null to remove it
+     * @return If both were written. If not, the item meta must be used instead
+     */
+    static boolean setJson(ItemStack item, @Nullable String displayName, @Nullable List<String> lore) {
+        Object handle = handleOf(item);
+        if (handle == null)
+            return false;
+        writeDisplayName(handle, displayName);
+        writeLore(handle, lore);
+        return true;
+    }
+
+    /**
+     * Converts the component into the JSON that is written into item tags.
+     * Only available if {@link #isSupported()}.
+     *
+     * @param component Component to convert
+     * @return The JSON
+     */
+    static String toJson(Component component) {
+        return InternPool.intern(TO_JSON.apply(component));
+    }
+
+    private static @Nullable Object handleOf(ItemStack item) {
+        if (!SUPPORTED || item.getClass() != CRAFT_ITEM)
+            return null;
+        // null for air, which has no meta to write to either
+        return (Object) HANDLE.get(item);
+    }
+
+    @SneakyThrows
+    private static void writeDisplayName(Object handle, @Nullable String displayName) {
+        write(handle, "Name", displayName == null ? null : (Object) NEW_STRING.invokeExact(displayName));
+    }
+
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    private static void writeLore(Object handle, @Nullable List<String> lore) {
+        List<Object> list = null;
+        // CraftBukkit does not write empty lore
+        if (lore != null && !lore.isEmpty()) {
+            list = (List<Object>) NEW_LIST.invokeExact();
+            for (String line : lore)
+                list.add((Object) NEW_STRING.invokeExact(line));
+        }
+        write(handle, "Lore", list);
+    }
+
+    @SneakyThrows
+    private static void write(Object handle, String key, @Nullable Object value) {
+        Object tag = GET_TAG.call(handle);
+        boolean hasDisplay = tag != null && (boolean) HAS_KEY_OF_TYPE.call(tag, "display", COMPOUND_TYPE);
+        if (value == null) {
+            if (!hasDisplay)
+                return;
+            Object display = GET_COMPOUND.call(tag, "display");
+            REMOVE.call(display, key);
+            if ((boolean) IS_EMPTY.call(display))
+                REMOVE.call(tag, "display");
+            if ((boolean) IS_EMPTY.call(tag))
+                SET_TAG.call(handle, (Object) null);
+            return;
+        }
+        if (tag == null) {
+            tag = (Object) NEW_COMPOUND.invokeExact();
+            SET_TAG.call(handle, tag);
+        }
+        Object display;
+        if (hasDisplay)
+            display = GET_COMPOUND.call(tag, "display");
+        else {
+            display = (Object) NEW_COMPOUND.invokeExact();
+            SET.call(tag, "display", display);
+        }
+        SET.call(display, key, value);
+    }
+
+    private static boolean hasFactory(Class<?> string) {
+        try {
+            string.getMethod("a", String.class);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the same name and lore to two items, once through the tag and once
+     * through the item meta, and checks that the resulting tags are equal
+     *
+     * @return If tag writes can be trusted
+     */
+    private static boolean selfTest() {
+        try {
+            MethodCaller asCraftCopy = MethodCaller.wrap(CRAFT_ITEM.getMethod("asCraftCopy", ItemStack.class));
+            ItemStack byTag = (ItemStack) asCraftCopy.call(null, new ItemStack(Material.STONE));
+            ItemStack byMeta = (ItemStack) asCraftCopy.call(null, new ItemStack(Material.STONE));
+            Component name = Component.text("Name", NamedTextColor.GOLD).append(Component.text(" suffix"));
+            List<Component> lore = Collections.singletonList(Component.text("Lore", NamedTextColor.GRAY));
+
+            Object handle = (Object) HANDLE.get(byTag);
+            writeDisplayName(handle, toJson(name));
+            writeLore(handle, Collections.singletonList(toJson(lore.get(0))));
+            AdventureItem item = AdventureItem.ITEM.get();
+            ItemMeta meta = byMeta.getItemMeta();
+            item.setDisplayName(meta, name);
+            item.setLore(meta, lore);
+            byMeta.setItemMeta(meta);
+            Object expected = GET_TAG.call(HANDLE.get(byMeta));
+            return expected != null && expected.equals(GET_TAG.call(handle));
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+}
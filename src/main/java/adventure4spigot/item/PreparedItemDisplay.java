@@ -0,0 +1,157 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.item;
+
+import adventure4spigot.util.SharedList;
+import com.google.common.collect.ImmutableList;
+import net.kyori.adventure.text.Component;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A display name and lore converted once into the form the current backend
+ * stores, such as JSON or legacy strings.
+ * <p>
+ * Applying it skips the conversion from components, which makes it suitable
+ * for giving the same name and lore to many items, such as shop pages or kits.
+ * Backends that store strings, such as legacy text or JSON, write the
+ * converted strings as they are, and every item meta gets its own
+ * copy-on-write view of the converted lore, so changing the lore of one item
+ * does not affect the others.
+ * <p>
+ * Backends that store NMS components cannot share them, as they are mutable.
+ * For those, the converted form is JSON, and applying to an item meta still
+ * parses it into new NMS components, once per line for every item. Prefer
+ * {@link #applyTo(ItemStack)}, which writes the JSON straight into the tags
+ * of items backed by NMS items where {@link AdventureItem#supportsDirectItemWrites()}
+ * and skips that parse.
+ * <p>
+ * Instances are immutable, and may be shared between threads.
+ */
+public final class PreparedItemDisplay {
+
+    private final AdventureItem item;
+    private final @Nullable Component displayName;
+    private final @Nullable List<Component> lore;
+    private final @Nullable Object nativeDisplayName;
+    private final @Nullable Object[] nativeLore;
+
+    // written straight into the tags of items backed by NMS items, see ItemTagWriter
+    private final @Nullable String jsonDisplayName;
+    private final @Nullable List<String> jsonLore;
+
+    private PreparedItemDisplay(AdventureItem item, @Nullable Component displayName, @Nullable List<Component> lore) {
+        this.item = item;
+        this.displayName = displayName;
+        this.lore = lore == null ? null : ImmutableList.copyOf(lore);
+        this.nativeDisplayName = displayName == null ? null : item.toNative(displayName);
+        if (this.lore == null)
+            this.nativeLore = null;
+        else {
+            nativeLore = new Object[this.lore.size()];
+            for (int i = 0; i < nativeLore.length; i++)
+                nativeLore[i] = item.toNative(this.lore.get(i));
+        }
+        if (!ItemTagWriter.isSupported()) {
+            this.jsonDisplayName = null;
+            this.jsonLore = null;
+            return;
+        }
+        this.jsonDisplayName = displayName == null ? null : ItemTagWriter.toJson(displayName);
+        if (this.lore == null)
+            this.jsonLore = null;
+        else {
+            ImmutableList.Builder<String> json = ImmutableList.builder();
+            for (Component line : this.lore)
+                json.add(ItemTagWriter.toJson(line));
+            this.jsonLore = json.build();
+        }
+    }
+
+    /**
+     * Converts the given display name and lore
+     *
+     * @param displayName The display name. Null removes the display name when applied
+     * @param lore        The lore. Null removes the lore when applied
+     * @return The prepared display
+     */
+    public static @NotNull PreparedItemDisplay of(@Nullable Component displayName, @Nullable List<Component> lore) {
+        return of(AdventureItem.ITEM.get(), displayName, lore);
+    }
+
+    static @NotNull PreparedItemDisplay of(@NotNull AdventureItem item, @Nullable Component displayName, @Nullable List<Component> lore) {
+        return new PreparedItemDisplay(item, displayName, lore);
+    }
+
+    /**
+     * Sets the display name and lore of the given item meta. On backends that
+     * store NMS components, this parses the prepared JSON for every line.
+     *
+     * @param meta Item meta to set for
+     */
+    public void applyTo(@NotNull ItemMeta meta) {
+        item.setNativeDisplayName(meta, nativeDisplayName);
+        item.setNativeLore(meta, nativeLore == null ? null : SharedList.of(nativeLore));
+    }
+
+    /**
+     * Sets the display name and lore of the given item. Items backed by NMS
+     * items are written to directly where supported, and other items through
+     * their meta.
+     *
+     * @param item Item to set for
+     * @return If the item has an item meta to set
+     */
+    public boolean applyTo(@NotNull ItemStack item) {
+        if (ItemTagWriter.setJson(item, jsonDisplayName, jsonLore))
+            return true;
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null)
+            return false;
+        applyTo(meta);
+        return item.setItemMeta(meta);
+    }
+
+    /**
+     * Returns the display name
+     *
+     * @return The display name
+     */
+    public @Nullable Component getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Returns the lore
+     *
+     * @return An immutable list of the lore
+     */
+    public @Nullable List<Component> getLore() {
+        return lore;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.item;
+
+import adventure4spigot.util.WriteTracker;
+import com.google.common.collect.ImmutableList;
+import net.kyori.adventure.text.Component;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Skips display name and lore writes that would not change an item meta,
+ * and answers reads of values that were written through it, if the backend
+ * reads them back unchanged.
+ *
+ * @see WriteTracker
+ */
+final class TrackedItem implements AdventureItem {
+
+    private static final WriteTracker DISPLAY_NAMES = WriteTracker.create("item.displayName");
+    private static final WriteTracker LORE = WriteTracker.create("item.lore");
+
+    private final AdventureItem delegate;
+    private final RawItemAccess raw;
+    private final boolean mirror;
+
+    private <T extends AdventureItem & RawItemAccess> TrackedItem(T delegate) {
+        this.delegate = delegate;
+        this.raw = delegate;
+        this.mirror = delegate.isLossless();
+    }
+
+    /**
+     * Wraps the given backend if its writes can be tracked
+     *
+     * @param item Backend to wrap
+     * @return The tracked backend, or the given one
+     */
+    static AdventureItem wrap(AdventureItem item) {
+        if (item instanceof RawItemAccess)
+            return new TrackedItem((AdventureItem & RawItemAccess) item);
+        return item;
+    }
+
+    /**
+     * Returns the backend the given one wraps, if any
+     *
+     * @param item Backend to unwrap
+     * @return The wrapped backend
+     */
+    static AdventureItem unwrap(AdventureItem item) {
+        return item instanceof TrackedItem ? ((TrackedItem) item).delegate : item;
+    }
+
+    @Override public Component getDisplayName(ItemMeta meta) {
+        if (mirror && WriteTracker.isMirrorEnabled()) {
+            Object written = DISPLAY_NAMES.lookup(meta, raw.getRawDisplayName(meta));
+            if (written != null)
+                return (Component) written;
+        }
+        return delegate.getDisplayName(meta);
+    }
+
+    @Override public void setDisplayName(ItemMeta meta, Component displayName) {
+        if (!WriteTracker.isTracking()) {
+            delegate.setDisplayName(meta, displayName);
+            return;
+        }
+        if (DISPLAY_NAMES.isUnchanged(meta, displayName, raw.getRawDisplayName(meta)))
+            return;
+        delegate.setDisplayName(meta, displayName);
+        DISPLAY_NAMES.record(meta, displayName, raw.getRawDisplayName(meta));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public List<Component> getLore(ItemMeta meta) {
+        if (mirror && WriteTracker.isMirrorEnabled()) {
+            Object written = LORE.lookup(meta, raw.getRawLore(meta));
+            // callers expect a list they can change
+            if (written != null)
+                return new ArrayList<>((List<Component>) written);
+        }
+        return delegate.getLore(meta);
+    }
+
+    @Override public void setLore(ItemMeta meta, List<Component> lore) {
+        if (!WriteTracker.isTracking()) {
+            delegate.setLore(meta, lore);
+            return;
+        }
+        if (LORE.isUnchanged(meta, lore, raw.getRawLore(meta)))
+            return;
+        delegate.setLore(meta, lore);
+        // copied, since callers may change their list afterwards
+        LORE.record(meta, lore == null ? null : ImmutableList.copyOf(lore), raw.getRawLore(meta));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public List<Component> getLazyLore(ItemMeta meta) {
+        if (mirror && WriteTracker.isMirrorEnabled()) {
+            Object written = LORE.lookup(meta, raw.getRawLore(meta));
+            if (written != null)
+                return (List<Component>) written;
+        }
+        return delegate.getLazyLore(meta);
+    }
+
+    @Override public Object toNative(Component component) {
+        return delegate.toNative(component);
+    }
+
+    @Override public void setNativeDisplayName(ItemMeta meta, Object displayName) {
+        delegate.setNativeDisplayName(meta, displayName);
+    }
+
+    @Override public void setNativeLore(ItemMeta meta, List<?> lore) {
+        delegate.setNativeLore(meta, lore);
+    }
+
+    @Override public String toString() {
+        return "TrackedItem(" + delegate + ")";
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.jfr;
+
+import adventure4spigot.item.AdventureItem;
+import adventure4spigot.scoreboard.AdventureScoreboard;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.ComponentSerializer;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Emits JDK Flight Recorder events for slow conversions and writes, so that
+ * lag spikes can be attributed to a backend and the component involved.
+ * <p>
+ * Events are named {@code adventure4spigot.ComponentSerialize},
+ * {@code adventure4spigot.NmsComponentConvert}, {@code adventure4spigot.ItemMetaWrite}
+ * and {@code adventure4spigot.ObjectiveWrite}. Conversions are recorded when
+ * they take over 100 us, and writes when they take over 1 ms. Both thresholds
+ * can be changed in the recording settings.
+ * <p>
+ * The events are compiled for Java 11 and loaded reflectively. On JVMs without
+ * Flight Recorder, everything here simply runs the given conversion, and no
+ * event class is ever loaded.
+ */
+public final class FlightEvents {
+
+    private FlightEvents() {}
+
+    /**
+     * Longest component text recorded in an event
+     */
+    private static final int MAX_TEXT_LENGTH = 100;
+
+    private static final @Nullable Recorder RECORDER = loadRecorder();
+
+    private static final boolean AVAILABLE = RECORDER != null;
+
+    /**
+     * Returns whether this JVM supports Flight Recorder events
+     *
+     * @return If events are emitted
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * Wraps the given backend to record its slow writes
+     *
+     * @param item    Backend to wrap
+     * @param backend Name of the backend, recorded in each event
+     * @return The wrapped backend, or the given one if events are not available
+     */
+    public static @NotNull AdventureItem wrap(@NotNull AdventureItem item, @NotNull String backend) {
+        return AVAILABLE ? RECORDER.wrap(item, backend) : item;
+    }
+
+    /**
+     * Wraps the given backend to record its slow writes
+     *
+     * @param scoreboard Backend to wrap
+     * @param backend    Name of the backend, recorded in each event
+     * @return The wrapped backend, or the given one if events are not available
+     */
+    public static @NotNull AdventureScoreboard wrap(@NotNull AdventureScoreboard scoreboard, @NotNull String backend) {
+        return AVAILABLE ? RECORDER.wrap(scoreboard, backend) : scoreboard;
+    }
+
+    /**
+     * Returns the backend the given one wraps, if any
+     *
+     * @param item Backend to unwrap
+     * @return The wrapped backend
+     */
+    public static @NotNull AdventureItem unwrap(@NotNull AdventureItem item) {
+        return AVAILABLE ? RECORDER.unwrap(item) : item;
+    }
+
+    /**
+     * Returns the backend the given one wraps, if any
+     *
+     * @param scoreboard Backend to unwrap
+     * @return The wrapped backend
+     */
+    public static @NotNull AdventureScoreboard unwrap(@NotNull AdventureScoreboard scoreboard) {
+        return AVAILABLE ? RECORDER.unwrap(scoreboard) : scoreboard;
+    }
+
+    /**
+     * Serializes the given component, recording a {@code ComponentSerialize}
+     * event if it is slow
+     *
+     * @param backend    Name of the backend serializing
+     * @param serializer Serializer to use
+     * @param component  Component to serialize
+     * @return The serialized component
+     */
+    public static @NotNull String serialize(@NotNull String backend,
+                                            @NotNull ComponentSerializer<Component, ?, String> serializer,
+                                            @NotNull Component component) {
+        if (!AVAILABLE)
+            return serializer.serialize(component);
+        return RECORDER.serialize(backend, serializer, component);
+    }
+
+    /**
+     * Converts the given component into an NMS component, recording a
+     * {@code NmsComponentConvert} event if it is slow
+     *
+     * @param component  Component to convert
+     * @param conversion The conversion
+     * @return The NMS component
+     */
+    public static Object toNms(@NotNull Component component, @NotNull Function<Component, Object> conversion) {
+        if (!AVAILABLE)
+            return conversion.apply(component);
+        return RECORDER.toNms(component, conversion);
+    }
+
+    /**
+     * Converts the given NMS component into an Adventure one, recording a
+     * {@code NmsComponentConvert} event if it is slow
+     *
+     * @param component  NMS component to convert
+     * @param conversion The conversion
+     * @return The Adventure component
+     */
+    public static Component fromNms(@NotNull Object component, @NotNull Function<Object, Component> conversion) {
+        if (!AVAILABLE)
+            return conversion.apply(component);
+        return RECORDER.fromNms(component, conversion);
+    }
+
+    /**
+     * Counts the nodes of the given component tree
+     */
+    static int size(@Nullable Component component) {
+        if (component == null)
+            return 0;
+        int size = 1;
+        for (Component child : component.children())
+            size += size(child);
+        return size;
+    }
+
+    static int size(@Nullable List<Component> components) {
+        if (components == null)
+            return 0;
+        int size = 0;
+        for (Component component : components)
+            size += size(component);
+        return size;
+    }
+
+    /**
+     * Returns the shortened plain text of the given component
+     */
+    static @Nullable String describe(@Nullable Component component) {
+        if (component == null)
+            return null;
+        String text = PlainTextComponentSerializer.plainText().serialize(component);
+        return text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) + "..." : text;
+    }
+
+    static @Nullable String describe(@Nullable List<Component> components) {
+        if (components == null || components.isEmpty())
+            return null;
+        String first = describe(components.get(0));
+        return components.size() == 1 ? first : first + " (+" + (components.size() - 1) + " lines)";
+    }
+
+    private static @Nullable Recorder loadRecorder() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return (Recorder) Class.forName("adventure4spigot.jfr.EventRecorder").getDeclaredConstructor().newInstance();
+        } catch (Throwable t) {
+            // no Flight Recorder, or a jar built without the Java 11 classes
+            return null;
+        }
+    }
+
+    /**
+     * Emits the events. Implemented by {@code EventRecorder}, which is only
+     * loaded once events are known to be available
+     */
+    interface Recorder {
+
+        AdventureItem wrap(AdventureItem item, String backend);
+
+        AdventureScoreboard wrap(AdventureScoreboard scoreboard, String backend);
+
+        AdventureItem unwrap(AdventureItem item);
+
+        AdventureScoreboard unwrap(AdventureScoreboard scoreboard);
+
+        String serialize(String backend, ComponentSerializer<Component, ?, String> serializer, Component component);
+
+        Object toNms(Component component, Function<Component, Object> conversion);
+
+        Component fromNms(Object component, Function<Object, Component> conversion);
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A {@link MetricsRegistry} that keeps everything in memory, for plugins to
+ * read and export themselves, such as in a debug command.
+ */
+public final class InMemoryMetricsRegistry implements MetricsRegistry {
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> totals = new ConcurrentHashMap<>();
+    private final Map<String, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+    private final Map<String, String> info = new ConcurrentHashMap<>();
+
+    @Override public void recordCall(@NotNull String operation, long nanos) {
+        timers.computeIfAbsent(operation, k -> new Timer()).record(nanos);
+    }
+
+    @Override public void addTotal(@NotNull String name, long amount) {
+        totals.computeIfAbsent(name, k -> new LongAdder()).add(amount);
+    }
+
+    @Override public void registerGauge(@NotNull String name, @NotNull DoubleSupplier value) {
+        gauges.put(name, value);
+    }
+
+    @Override public void setInfo(@NotNull String name, @NotNull String value) {
+        info.put(name, value);
+    }
+
+    /**
+     * Returns the timer of every operation that was called
+     *
+     * @return An unmodifiable view of operation names to their timers
+     */
+    public @NotNull Map<String, Timer> getTimers() {
+        return Collections.unmodifiableMap(timers);
+    }
+
+    /**
+     * Returns the current value of every total
+     *
+     * @return An immutable map of names to totals
+     */
+    public @NotNull Map<String, Long> getTotals() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        totals.forEach((name, total) -> values.put(name, total.sum()));
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Reads the current value of every gauge
+     *
+     * @return An immutable map of names to gauge values
+     */
+    public @NotNull Map<String, Double> getGauges() {
+        Map<String, Double> values = new LinkedHashMap<>();
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsDouble()));
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Returns all recorded information
+     *
+     * @return An unmodifiable view of names to values
+     */
+    public @NotNull Map<String, String> getInfo() {
+        return Collections.unmodifiableMap(info);
+    }
+
+    /**
+     * Clears all timers and totals. Gauges and information are kept.
+     */
+    public void reset() {
+        timers.clear();
+        totals.clear();
+    }
+
+    /**
+     * Counts the calls of one operation, in a histogram of power-of-two
+     * nanosecond buckets
+     */
+    public static final class Timer {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder[] buckets = new LongAdder[Long.SIZE];
+
+        private Timer() {
+            for (int i = 0; i < buckets.length; i++)
+                buckets[i] = new LongAdder();
+        }
+
+        private void record(long nanos) {
+            nanos = Math.max(nanos, 1);
+            count.increment();
+            totalNanos.add(nanos);
+            buckets[63 - Long.numberOfLeadingZeros(nanos)].increment();
+        }
+
+        /**
+         * Returns the number of calls
+         *
+         * @return The call count
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Returns the time all calls took together
+         *
+         * @return The total time, in nanoseconds
+         */
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        /**
+         * Returns the average time of a call
+         *
+         * @return The mean time, in nanoseconds
+         */
+        public double getMeanNanos() {
+            long count = getCount();
+            return count == 0 ? 0 : (double) getTotalNanos() / count;
+        }
+
+        /**
+         * Returns the latency histogram. Bucket {@code i} counts the calls that
+         * took at least 2<sup>i</sup> and less than 2<sup>i+1</sup> nanoseconds.
+         *
+         * @return A new array of 64 bucket counts
+         */
+        public long @NotNull [] getHistogram() {
+            long[] histogram = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++)
+                histogram[i] = buckets[i].sum();
+            return histogram;
+        }
+
+        /**
+         * Estimates a percentile of the call latency, as the upper bound of the
+         * bucket it falls in
+         *
+         * @param percentile The percentile, between 0 and 100
+         * @return The estimate, in nanoseconds
+         */
+        public long getPercentileNanos(double percentile) {
+            long[] histogram = getHistogram();
+            long total = 0;
+            for (long bucket : histogram)
+                total += bucket;
+            long rank = (long) Math.ceil(total * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (seen >= rank && seen > 0)
+                    return (1L << (i + 1)) - 1;
+            }
+            return 0;
+        }
+
+        @Override public String toString() {
+            return "Timer(count=" + getCount() + ", mean=" + (long) getMeanNanos() + "ns)";
+        }
+    }
+}
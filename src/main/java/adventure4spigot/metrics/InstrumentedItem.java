@@ -0,0 +1,146 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.metrics;
+
+import adventure4spigot.item.AdventureItem;
+import net.kyori.adventure.text.Component;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Times every call of an {@link AdventureItem} backend, under
+ * {@code <name>.<method>}
+ */
+public final class InstrumentedItem implements AdventureItem {
+
+    private final AdventureItem delegate;
+    private final String getDisplayName, setDisplayName, getLore, setLore, getLazyLore;
+    private final String toNative, setNativeDisplayName, setNativeLore, setItemDisplayName, setItemLore;
+
+    private InstrumentedItem(AdventureItem delegate, String name) {
+        this.delegate = delegate;
+        this.getDisplayName = name + ".getDisplayName";
+        this.setDisplayName = name + ".setDisplayName";
+        this.getLore = name + ".getLore";
+        this.setLore = name + ".setLore";
+        this.getLazyLore = name + ".getLazyLore";
+        this.toNative = name + ".toNative";
+        this.setNativeDisplayName = name + ".setNativeDisplayName";
+        this.setNativeLore = name + ".setNativeLore";
+        this.setItemDisplayName = name + ".setItemDisplayName";
+        this.setItemLore = name + ".setItemLore";
+    }
+
+    /**
+     * Wraps the given backend
+     *
+     * @param item Backend to time
+     * @param name Prefix of the operation names, such as {@code item.ByComponent}
+     * @return The instrumented backend
+     */
+    public static @NotNull AdventureItem wrap(@NotNull AdventureItem item, @NotNull String name) {
+        return new InstrumentedItem(item, name);
+    }
+
+    /**
+     * Returns the backend the given one wraps, if any
+     *
+     * @param item Backend to unwrap
+     * @return The wrapped backend
+     */
+    public static @NotNull AdventureItem unwrap(@NotNull AdventureItem item) {
+        return item instanceof InstrumentedItem ? ((InstrumentedItem) item).delegate : item;
+    }
+
+    @Override public Component getDisplayName(ItemMeta meta) {
+        long start = Metrics.start();
+        Component displayName = delegate.getDisplayName(meta);
+        Metrics.recordCall(getDisplayName, start);
+        return displayName;
+    }
+
+    @Override public void setDisplayName(ItemMeta meta, Component displayName) {
+        long start = Metrics.start();
+        delegate.setDisplayName(meta, displayName);
+        Metrics.recordCall(setDisplayName, start);
+    }
+
+    @Override public List<Component> getLore(ItemMeta meta) {
+        long start = Metrics.start();
+        List<Component> lore = delegate.getLore(meta);
+        Metrics.recordCall(getLore, start);
+        return lore;
+    }
+
+    @Override public void setLore(ItemMeta meta, List<Component> lore) {
+        long start = Metrics.start();
+        delegate.setLore(meta, lore);
+        Metrics.recordCall(setLore, start);
+    }
+
+    @Override public List<Component> getLazyLore(ItemMeta meta) {
+        long start = Metrics.start();
+        List<Component> lore = delegate.getLazyLore(meta);
+        Metrics.recordCall(getLazyLore, start);
+        return lore;
+    }
+
+    @Override public Object toNative(Component component) {
+        long start = Metrics.start();
+        Object converted = delegate.toNative(component);
+        Metrics.recordCall(toNative, start);
+        return converted;
+    }
+
+    @Override public void setNativeDisplayName(ItemMeta meta, Object displayName) {
+        long start = Metrics.start();
+        delegate.setNativeDisplayName(meta, displayName);
+        Metrics.recordCall(setNativeDisplayName, start);
+    }
+
+    @Override public void setNativeLore(ItemMeta meta, List<?> lore) {
+        long start = Metrics.start();
+        delegate.setNativeLore(meta, lore);
+        Metrics.recordCall(setNativeLore, start);
+    }
+
+    @Override public void setDisplayName(ItemStack item, Component displayName) {
+        long start = Metrics.start();
+        delegate.setDisplayName(item, displayName);
+        Metrics.recordCall(setItemDisplayName, start);
+    }
+
+    @Override public void setLore(ItemStack item, List<Component> lore) {
+        long start = Metrics.start();
+        delegate.setLore(item, lore);
+        Metrics.recordCall(setItemLore, start);
+    }
+
+    @Override public String toString() {
+        return "InstrumentedItem(" + delegate + ")";
+    }
+}
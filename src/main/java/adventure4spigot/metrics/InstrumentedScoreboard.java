@@ -0,0 +1,133 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.metrics;
+
+import adventure4spigot.scoreboard.AdventureScoreboard;
+import net.kyori.adventure.text.Component;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Times every call of an {@link AdventureScoreboard} backend, under
+ * {@code <name>.<method>}
+ */
+public final class InstrumentedScoreboard implements AdventureScoreboard {
+
+    private final AdventureScoreboard delegate;
+    private final String registerNewObjective, setDisplayName, getDisplayName, setPrefix, setSuffix;
+    private final String setLine, toNative, setNativeDisplayName;
+
+    private InstrumentedScoreboard(AdventureScoreboard delegate, String name) {
+        this.delegate = delegate;
+        this.registerNewObjective = name + ".registerNewObjective";
+        this.setDisplayName = name + ".setDisplayName";
+        this.getDisplayName = name + ".getDisplayName";
+        this.setPrefix = name + ".setPrefix";
+        this.setSuffix = name + ".setSuffix";
+        this.setLine = name + ".setLine";
+        this.toNative = name + ".toNative";
+        this.setNativeDisplayName = name + ".setNativeDisplayName";
+    }
+
+    /**
+     * Wraps the given backend
+     *
+     * @param scoreboard Backend to time
+     * @param name       Prefix of the operation names, such as {@code scoreboard.ByComponent}
+     * @return The instrumented backend
+     */
+    public static @NotNull AdventureScoreboard wrap(@NotNull AdventureScoreboard scoreboard, @NotNull String name) {
+        return new InstrumentedScoreboard(scoreboard, name);
+    }
+
+    /**
+     * Returns the backend the given one wraps, if any
+     *
+     * @param scoreboard Backend to unwrap
+     * @return The wrapped backend
+     */
+    public static @NotNull AdventureScoreboard unwrap(@NotNull AdventureScoreboard scoreboard) {
+        return scoreboard instanceof InstrumentedScoreboard ? ((InstrumentedScoreboard) scoreboard).delegate : scoreboard;
+    }
+
+    @Override public Objective registerNewObjective(@NotNull Scoreboard scoreboard,
+                                                    @NotNull String name,
+                                                    @NotNull String criteria,
+                                                    @NotNull Component displayName) {
+        long start = Metrics.start();
+        Objective objective = delegate.registerNewObjective(scoreboard, name, criteria, displayName);
+        Metrics.recordCall(registerNewObjective, start);
+        return objective;
+    }
+
+    @Override public void setDisplayName(Objective objective, Component displayName) {
+        long start = Metrics.start();
+        delegate.setDisplayName(objective, displayName);
+        Metrics.recordCall(setDisplayName, start);
+    }
+
+    @Override public Component getDisplayName(Objective objective) {
+        long start = Metrics.start();
+        Component displayName = delegate.getDisplayName(objective);
+        Metrics.recordCall(getDisplayName, start);
+        return displayName;
+    }
+
+    @Override public void setPrefix(Team team, Component prefix) {
+        long start = Metrics.start();
+        delegate.setPrefix(team, prefix);
+        Metrics.recordCall(setPrefix, start);
+    }
+
+    @Override public void setSuffix(Team team, Component suffix) {
+        long start = Metrics.start();
+        delegate.setSuffix(team, suffix);
+        Metrics.recordCall(setSuffix, start);
+    }
+
+    @Override public void setLine(Team team, Component line) {
+        long start = Metrics.start();
+        delegate.setLine(team, line);
+        Metrics.recordCall(setLine, start);
+    }
+
+    @Override public Object toNative(Component displayName) {
+        long start = Metrics.start();
+        Object converted = delegate.toNative(displayName);
+        Metrics.recordCall(toNative, start);
+        return converted;
+    }
+
+    @Override public void setNativeDisplayName(Objective objective, Object displayName) {
+        long start = Metrics.start();
+        delegate.setNativeDisplayName(objective, displayName);
+        Metrics.recordCall(setNativeDisplayName, start);
+    }
+
+    @Override public String toString() {
+        return "InstrumentedScoreboard(" + delegate + ")";
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * The entry point of the measurements of adventure4spigot.
+ * <p>
+ * Measurements are disabled until a registry is set, in which case every
+ * measurement is a single volatile read. Gauges and information are kept
+ * regardless, and handed to any registry set later.
+ */
+public final class Metrics {
+
+    private Metrics() {}
+
+    /**
+     * Total characters of JSON produced by the backends
+     */
+    public static final String JSON_CHARS = "json.chars";
+
+    /**
+     * Count of components serialized or parsed without Gson
+     */
+    public static final String JSON_FAST_PATH = "json.fastPath";
+
+    /**
+     * Count of components serialized or parsed through Gson
+     */
+    public static final String JSON_FALLBACK = "json.fallback";
+
+    /**
+     * Estimated bytes saved by sharing identical names and lore between items
+     */
+    public static final String INTERN_BYTES_SAVED = "intern.bytesSaved";
+
+    private static final Map<String, DoubleSupplier> GAUGES = new ConcurrentHashMap<>();
+    private static final Map<String, String> INFO = new ConcurrentHashMap<>();
+
+    private static volatile @Nullable MetricsRegistry registry;
+
+    /**
+     * Sets the registry that receives all measurements
+     *
+     * @param registry The registry, or null to disable measurements
+     */
+    public static synchronized void setRegistry(@Nullable MetricsRegistry registry) {
+        if (registry != null) {
+            GAUGES.forEach(registry::registerGauge);
+            INFO.forEach(registry::setInfo);
+        }
+        Metrics.registry = registry;
+    }
+
+    /**
+     * Returns the registry that receives all measurements
+     *
+     * @return The registry, or null if measurements are disabled
+     */
+    public static @Nullable MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Returns whether measurements are enabled
+     *
+     * @return If a registry is set
+     */
+    public static boolean isEnabled() {
+        return registry != null;
+    }
+
+    /**
+     * Starts timing a call
+     *
+     * @return The start time to pass to {@link #recordCall(String, long)}, or
+     * 0 if measurements are disabled
+     */
+    public static long start() {
+        return registry == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Records a call that was started with {@link #start()}
+     *
+     * @param operation Name of the operation
+     * @param start     The start time
+     */
+    public static void recordCall(@NotNull String operation, long start) {
+        MetricsRegistry registry = Metrics.registry;
+        // a start of 0 means the registry was set during the call
+        if (registry != null && start != 0)
+            registry.recordCall(operation, System.nanoTime() - start);
+    }
+
+    /**
+     * Adds to a running total
+     *
+     * @param name   Name of the total
+     * @param amount Amount to add
+     */
+    public static void addTotal(@NotNull String name, long amount) {
+        MetricsRegistry registry = Metrics.registry;
+        if (registry != null)
+            registry.addTotal(name, amount);
+    }
+
+    /**
+     * Counts the characters of the given JSON towards {@link #JSON_CHARS}
+     *
+     * @param json JSON that was produced
+     * @return The same JSON
+     */
+    public static @NotNull String countJson(@NotNull String json) {
+        MetricsRegistry registry = Metrics.registry;
+        if (registry != null)
+            registry.addTotal(JSON_CHARS, json.length());
+        return json;
+    }
+
+    /**
+     * Registers a gauge with the current and any later registry
+     *
+     * @param name  Name of the gauge
+     * @param value Function reading the value
+     */
+    public static synchronized void registerGauge(@NotNull String name, @NotNull DoubleSupplier value) {
+        GAUGES.put(name, value);
+        MetricsRegistry registry = Metrics.registry;
+        if (registry != null)
+            registry.registerGauge(name, value);
+    }
+
+    /**
+     * Records information with the current and any later registry
+     *
+     * @param name  Name of the information
+     * @param value The value
+     */
+    public static synchronized void setInfo(@NotNull String name, @NotNull String value) {
+        INFO.put(name, value);
+        MetricsRegistry registry = Metrics.registry;
+        if (registry != null)
+            registry.setInfo(name, value);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Receives the measurements of adventure4spigot, and exports them to any
+ * metrics system. Implementations must be thread-safe, and should be cheap,
+ * as they are called on every measured operation.
+ *
+ * @see Metrics#setRegistry(MetricsRegistry)
+ * @see InMemoryMetricsRegistry
+ */
+public interface MetricsRegistry {
+
+    /**
+     * Records one call of the given operation
+     *
+     * @param operation Name of the operation, such as {@code item.ByComponent.setLore}
+     * @param nanos     How long the call took, in nanoseconds
+     */
+    void recordCall(@NotNull String operation, long nanos);
+
+    /**
+     * Adds to a running total, such as the characters of JSON produced
+     *
+     * @param name   Name of the total
+     * @param amount Amount to add
+     */
+    void addTotal(@NotNull String name, long amount);
+
+    /**
+     * Registers a value that is read whenever it is exported, such as the hit
+     * rate of a cache
+     *
+     * @param name  Name of the gauge
+     * @param value Function reading the value
+     */
+    void registerGauge(@NotNull String name, @NotNull DoubleSupplier value);
+
+    /**
+     * Records a fixed piece of information, such as the selected backend
+     *
+     * @param name  Name of the information
+     * @param value The value
+     */
+    void setInfo(@NotNull String name, @NotNull String value);
+
+}
@@ -0,0 +1,89 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.packet;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A packet sink that keeps every flushed batch in memory instead of sending it,
+ * which is useful for tests and for inspecting what would be sent.
+ */
+public final class MemoryPacketSink implements PacketSink {
+
+    private final List<Object> pending = new ArrayList<>();
+    private final List<List<Object>> batches = new ArrayList<>();
+
+    @Override public void send(@NotNull Object packet) {
+        pending.add(packet);
+    }
+
+    @Override public void flush() {
+        if (pending.isEmpty())
+            return;
+        batches.add(Collections.unmodifiableList(new ArrayList<>(pending)));
+        pending.clear();
+    }
+
+    /**
+     * Returns the packets that were queued but not flushed yet
+     *
+     * @return An immutable copy of the pending packets
+     */
+    public @NotNull List<Object> getPending() {
+        return Collections.unmodifiableList(new ArrayList<>(pending));
+    }
+
+    /**
+     * Returns every flushed batch, in the order they were flushed
+     *
+     * @return An immutable copy of the batches
+     */
+    public @NotNull List<List<Object>> getBatches() {
+        return Collections.unmodifiableList(new ArrayList<>(batches));
+    }
+
+    /**
+     * Returns every flushed packet, in the order they were sent
+     *
+     * @return An immutable list of the flushed packets
+     */
+    public @NotNull List<Object> getPackets() {
+        List<Object> packets = new ArrayList<>();
+        for (List<Object> batch : batches)
+            packets.addAll(batch);
+        return Collections.unmodifiableList(packets);
+    }
+
+    /**
+     * Forgets all pending packets and flushed batches
+     */
+    public void clear() {
+        pending.clear();
+        batches.clear();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.packet;
+
+import adventure4spigot.reflect.MethodCaller;
+import adventure4spigot.reflect.ReflectField;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static adventure4spigot.reflect.ReflectField.fieldHandle;
+import static adventure4spigot.util.GameVersion.nmsClass;
+import static adventure4spigot.util.GameVersion.ocbClass;
+
+/**
+ * A packet sink that sends packets to a player's connection.
+ * <p>
+ * Packets are buffered until {@link #flush()}, which must be called on the
+ * server thread. This supports versions 1.13 - 1.16, where the connection is
+ * reachable through {@code EntityPlayer#playerConnection}.
+ */
+public final class PlayerPacketSink implements PacketSink {
+
+    private static final MethodCaller GET_HANDLE, SEND_PACKET;
+    private static final ReflectField<Object> CONNECTION;
+
+    static {
+        try {
+            GET_HANDLE = MethodCaller.wrap(ocbClass("entity.CraftPlayer").getMethod("getHandle"));
+            CONNECTION = fieldHandle(nmsClass("EntityPlayer"), "playerConnection");
+            SEND_PACKET = MethodCaller.wrap(nmsClass("PlayerConnection").getMethod("sendPacket", nmsClass("Packet")));
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private final Player player;
+    private final List<Object> pending = new ArrayList<>();
+
+    private PlayerPacketSink(Player player) {
+        this.player = player;
+    }
+
+    /**
+     * Creates a packet sink for the given player
+     *
+     * @param player Player to send packets to
+     * @return The packet sink
+     */
+    public static @NotNull PlayerPacketSink of(@NotNull Player player) {
+        return new PlayerPacketSink(player);
+    }
+
+    @Override public void send(@NotNull Object packet) {
+        pending.add(packet);
+    }
+
+    @Override public void flush() {
+        if (pending.isEmpty())
+            return;
+        if (player.isOnline()) {
+            // null while the player is still logging in
+            Object connection = (Object) CONNECTION.get(GET_HANDLE.call(player));
+            if (connection != null) {
+                for (Object packet : pending)
+                    SEND_PACKET.call(connection, packet);
+            }
+        }
+        pending.clear();
+    }
+
+    /**
+     * Returns the player packets are sent to
+     *
+     * @return The player
+     */
+    public @NotNull Player getPlayer() {
+        return player;
+    }
+}
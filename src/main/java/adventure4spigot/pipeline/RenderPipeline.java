@@ -0,0 +1,259 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.pipeline;
+
+import adventure4spigot.item.ItemDisplay;
+import adventure4spigot.item.PreparedItemDisplay;
+import adventure4spigot.scoreboard.AdventureScoreboard;
+import adventure4spigot.util.LegacySectionSerializer;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.scoreboard.Objective;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Spreads large UI updates across ticks.
+ * <p>
+ * Every update is split in two phases. Converting the components into the
+ * form the server stores is prepared on an executor, and the resulting writes
+ * are queued and applied on the server thread, by a task that runs every tick
+ * for at most the configured time budget. Writes are applied in the order they
+ * were submitted, so later updates of the same target win.
+ * <p>
+ * Updates may be submitted from any thread. The returned futures complete on
+ * the server thread once the write is applied, so callbacks attached to them
+ * may safely use the Bukkit API.
+ */
+public final class RenderPipeline implements AutoCloseable {
+
+    /**
+     * The default time spent applying writes every tick
+     */
+    public static final long DEFAULT_TICK_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private static final LegacySectionSerializer LEGACY = LegacySectionSerializer.legacySection();
+
+    private final Executor executor;
+    private final long tickBudgetNanos;
+    private final Queue<Write<?, ?>> queue = new ConcurrentLinkedQueue<>();
+    private final BukkitTask task;
+
+    // guards closing against submissions, so that nothing is queued after the final drain
+    private final Object lock = new Object();
+    private boolean closed;
+
+    private RenderPipeline(Plugin plugin, Executor executor, long tickBudgetNanos) {
+        this(executor, tickBudgetNanos, drain -> Bukkit.getScheduler().runTaskTimer(plugin, drain, 1L, 1L));
+    }
+
+    /**
+     * Creates a pipeline whose apply task is scheduled by the given function,
+     * which receives the task to run every tick
+     */
+    RenderPipeline(Executor executor, long tickBudgetNanos, Function<Runnable, BukkitTask> scheduler) {
+        this.executor = executor;
+        this.tickBudgetNanos = tickBudgetNanos;
+        this.task = scheduler.apply(this::drain);
+    }
+
+    /**
+     * Creates a pipeline that prepares on {@link ForkJoinPool#commonPool()},
+     * and applies writes for at most {@link #DEFAULT_TICK_BUDGET_NANOS} every tick
+     *
+     * @param plugin Plugin to schedule the apply task with
+     * @return The pipeline
+     */
+    public static @NotNull RenderPipeline create(@NotNull Plugin plugin) {
+        return create(plugin, ForkJoinPool.commonPool(), DEFAULT_TICK_BUDGET_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Creates a new pipeline
+     *
+     * @param plugin     Plugin to schedule the apply task with
+     * @param executor   Executor to prepare updates on
+     * @param tickBudget Maximum time spent applying writes every tick. At least
+     *                   one write is applied every tick regardless
+     * @param unit       Unit of the tick budget
+     * @return The pipeline
+     * @throws IllegalArgumentException if the tick budget is not positive
+     */
+    public static @NotNull RenderPipeline create(@NotNull Plugin plugin,
+                                                 @NotNull Executor executor,
+                                                 long tickBudget,
+                                                 @NotNull TimeUnit unit) {
+        Objects.requireNonNull(plugin, "plugin");
+        Objects.requireNonNull(executor, "executor");
+        if (tickBudget <= 0)
+            throw new IllegalArgumentException("tickBudget must be positive: " + tickBudget);
+        return new RenderPipeline(plugin, executor, unit.toNanos(tickBudget));
+    }
+
+    /**
+     * Sets the display name and lore of the given item
+     *
+     * @param item    Item to set for
+     * @param display The display to set. Null parts remove them from the item
+     * @return A future completed once the item is updated
+     */
+    public @NotNull CompletableFuture<Void> decorate(@NotNull ItemStack item, @NotNull ItemDisplay display) {
+        return submit(display::prepare, prepared -> {
+            prepared.applyTo(item);
+            return null;
+        });
+    }
+
+    /**
+     * Sets the display name of the given objective
+     *
+     * @param objective   Objective to set for
+     * @param displayName The display name to set
+     * @return A future completed once the objective is updated
+     */
+    public @NotNull CompletableFuture<Void> setDisplayName(@NotNull Objective objective, @NotNull Component displayName) {
+        AdventureScoreboard scoreboard = AdventureScoreboard.SCOREBOARD.get();
+        return submit(() -> scoreboard.toNative(displayName), prepared -> {
+            scoreboard.setNativeDisplayName(objective, prepared);
+            return null;
+        });
+    }
+
+    /**
+     * Creates an empty inventory with the specified type and title
+     *
+     * @param owner The holder of the inventory; can be null if there's no holder.
+     * @param type  The type of inventory to create.
+     * @param title The title of the inventory, to be displayed when it is viewed.
+     * @return A future completed with the new inventory
+     * @see adventure4spigot.SpigotAdventure#createInventory(InventoryHolder, InventoryType, Component)
+     */
+    public @NotNull CompletableFuture<Inventory> createInventory(@Nullable InventoryHolder owner,
+                                                                 @NotNull InventoryType type,
+                                                                 @NotNull Component title) {
+        return submit(() -> LEGACY.serialize(title), legacy -> Bukkit.createInventory(owner, type, legacy));
+    }
+
+    /**
+     * Creates an empty chest inventory with the specified size and title
+     *
+     * @param owner the holder of the inventory, or null to indicate no holder
+     * @param size  a multiple of 9 as the size of inventory to create
+     * @param title the title of the inventory, displayed when inventory is viewed
+     * @return A future completed with the new inventory
+     * @see adventure4spigot.SpigotAdventure#createInventory(InventoryHolder, int, Component)
+     */
+    public @NotNull CompletableFuture<Inventory> createInventory(@Nullable InventoryHolder owner,
+                                                                 int size,
+                                                                 @NotNull Component title) {
+        return submit(() -> LEGACY.serialize(title), legacy -> Bukkit.createInventory(owner, size, legacy));
+    }
+
+    /**
+     * Returns the number of writes that were submitted but not applied yet
+     *
+     * @return The number of pending writes
+     */
+    public int getPendingWrites() {
+        return queue.size();
+    }
+
+    /**
+     * Stops applying writes. Pending writes are cancelled
+     */
+    @Override public void close() {
+        synchronized (lock) {
+            closed = true;
+            task.cancel();
+            Write<?, ?> write;
+            while ((write = queue.poll()) != null)
+                write.result.cancel(false);
+        }
+    }
+
+    <P, R> CompletableFuture<R> submit(Supplier<P> prepare, Function<P, R> apply) {
+        Write<P, R> write;
+        synchronized (lock) {
+            if (closed)
+                throw new IllegalStateException("This pipeline is closed");
+            write = new Write<>(CompletableFuture.supplyAsync(prepare, executor), apply);
+            queue.add(write);
+        }
+        return write.result;
+    }
+
+    private void drain() {
+        long deadline = System.nanoTime() + tickBudgetNanos;
+        Write<?, ?> head;
+        // stop at the first write that is still being prepared, to keep the submission order
+        while ((head = queue.peek()) != null && head.prepared.isDone()) {
+            queue.poll();
+            head.apply();
+            if (System.nanoTime() - deadline >= 0)
+                break;
+        }
+    }
+
+    private static final class Write<P, R> {
+
+        private final CompletableFuture<P> prepared;
+        private final Function<P, R> apply;
+        private final CompletableFuture<R> result = new CompletableFuture<>();
+
+        Write(CompletableFuture<P> prepared, Function<P, R> apply) {
+            this.prepared = prepared;
+            this.apply = apply;
+        }
+
+        void apply() {
+            // cancelled by the caller
+            if (result.isDone())
+                return;
+            try {
+                result.complete(apply.apply(prepared.join()));
+            } catch (CompletionException e) {
+                result.completeExceptionally(e.getCause());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.reflect;
+
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Picks the engine behind {@link ReflectField#fieldHandle(Class, String)}.
+ * <p>
+ * The core of the library targets Java 8, so {@code VarHandleField} lives
+ * in the Java 9 source set and is looked up reflectively. When it cannot be
+ * loaded, fields fall back to {@link ReflectField#getterAndSetter(Class, String)}.
+ */
+final class FieldEngine {
+
+    private static final @Nullable Constructor<?> VAR_HANDLE_FIELD = findVarHandleField();
+
+    private FieldEngine() {
+    }
+
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    static <T> @NotNull ReflectField<T> create(@NotNull Field field) {
+        if (VAR_HANDLE_FIELD != null) {
+            try {
+                return (ReflectField<T>) VAR_HANDLE_FIELD.newInstance(field);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+        return ReflectField.getterAndSetter(field.getDeclaringClass(), field.getName());
+    }
+
+    private static @Nullable Constructor<?> findVarHandleField() {
+        try {
+            Constructor<?> constructor = Class.forName("adventure4spigot.reflect.VarHandleField")
+                    .getDeclaredConstructor(Field.class);
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (Throwable t) {
+            // Java 8, or a jar built without the Java 9 classes
+            return null;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.reflect;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Generates {@link MethodCaller}s whose bytecode calls the target method
+ * directly, instead of going through a method handle. Each generated caller
+ * is its own class, so every call site that holds one in a static final
+ * field stays monomorphic and can be inlined entirely.
+ * <p>
+ * Classes are defined next to this one, in the plugin's class loader, which
+ * can see the server classes. Hidden classes are used where available (Java
+ * 15+), so that callers can be unloaded. Only public methods of public
+ * classes can be called this way, and only on Java 9+.
+ * <p>
+ * Generation is disabled by default, and only affects callers created after
+ * it is enabled. Anything that cannot be generated falls back to the
+ * method handle caller.
+ * <p>
+ * Generating needs ASM ({@code org.ow2.asm:asm}), which is not bundled.
+ * Plugins that enable generation shade it, and without it every caller
+ * falls back as well.
+ */
+public final class GeneratedCaller {
+
+    private GeneratedCaller() {}
+
+    private static final String PACKAGE = GeneratedCaller.class.getName()
+            .substring(0, GeneratedCaller.class.getName().lastIndexOf('.') + 1)
+            .replace('.', '/');
+
+    private static final boolean ASM_PRESENT = isPresent("org.objectweb.asm.ClassWriter");
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+    private static final Lookup LOOKUP = MethodHandles.lookup();
+
+    // Lookup#defineClass(byte[]) is Java 9+, and
+    // Lookup#defineHiddenClass(byte[], boolean, ClassOption...) is Java 15+
+    private static final Method DEFINE_CLASS;
+    private static final Method DEFINE_HIDDEN;
+    private static final Object NO_OPTIONS;
+
+    static {
+        Method defineClass = null;
+        try {
+            defineClass = Lookup.class.getMethod("defineClass", byte[].class);
+        } catch (Throwable ignored) {
+        }
+        DEFINE_CLASS = defineClass;
+        Method defineHidden = null;
+        Object noOptions = null;
+        try {
+            Class<?> option = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            noOptions = Array.newInstance(option, 0);
+            defineHidden = Lookup.class.getMethod("defineHiddenClass", byte[].class, boolean.class, noOptions.getClass());
+        } catch (Throwable ignored) {
+        }
+        DEFINE_HIDDEN = defineHidden;
+        NO_OPTIONS = noOptions;
+    }
+
+    private static volatile boolean enabled = false;
+
+    /**
+     * Sets whether {@link MethodCaller#wrap(Method)} generates callers. This
+     * must be called before the backends are first used to affect them.
+     *
+     * @param enabled If callers should be generated
+     */
+    public static void setEnabled(boolean enabled) {
+        GeneratedCaller.enabled = enabled;
+    }
+
+    /**
+     * Returns whether {@link MethodCaller#wrap(Method)} generates callers
+     *
+     * @return If generation is enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Generates a caller for the given method
+     *
+     * @param method Method to call
+     * @return The caller, or null if the method cannot be called directly
+     */
+    static @Nullable MethodCaller generate(@NotNull Method method) {
+        Class<?> owner = method.getDeclaringClass();
+        if (!ASM_PRESENT || DEFINE_CLASS == null || !Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(owner.getModifiers()))
+            return null;
+        try {
+            // the generated class resolves the owner through our class loader
+            if (Class.forName(owner.getName(), false, GeneratedCaller.class.getClassLoader()) != owner)
+                return null;
+            String name = PACKAGE + "GeneratedCaller$" + method.getName() + "$" + COUNTER.incrementAndGet();
+            byte[] bytes = Bytecode.generate(name, method);
+            Lookup lookup;
+            Class<?> generated;
+            if (DEFINE_HIDDEN != null) {
+                lookup = (Lookup) DEFINE_HIDDEN.invoke(LOOKUP, bytes, true, NO_OPTIONS);
+                generated = lookup.lookupClass();
+            } else {
+                lookup = LOOKUP;
+                generated = (Class<?>) DEFINE_CLASS.invoke(LOOKUP, (Object) bytes);
+            }
+            return (MethodCaller) lookup.findConstructor(generated, MethodType.methodType(void.class)).invoke();
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    private static boolean isPresent(String className) {
+        try {
+            Class.forName(className, false, GeneratedCaller.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the caller classes. Kept apart so that ASM is only loaded when
+     * it is present
+     */
+    private static final class Bytecode {
+
+        private static final String CALLER = Type.getInternalName(MethodCaller.class);
+        private static final String CALL_DESCRIPTOR = "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;";
+
+        static byte[] generate(String name, Method method) {
+            ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+            cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, name, null, "java/lang/Object", new String[]{CALLER});
+
+            MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+
+            Class<?>[] parameters = method.getParameterTypes();
+
+            // call(Object instance, Object... arguments)
+            mv = cw.visitMethod(ACC_PUBLIC | ACC_VARARGS, "call", CALL_DESCRIPTOR, null, null);
+            mv.visitCode();
+            loadInstance(mv, method);
+            for (int i = 0; i < parameters.length; i++) {
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitLdcInsn(i);
+                mv.visitInsn(AALOAD);
+                unbox(mv, parameters[i]);
+            }
+            invoke(mv, method);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+
+            // the fixed arity overload matching the method, if there is one
+            if (parameters.length <= 3) {
+                StringBuilder descriptor = new StringBuilder("(Ljava/lang/Object;");
+                for (int i = 0; i < parameters.length; i++)
+                    descriptor.append("Ljava/lang/Object;");
+                mv = cw.visitMethod(ACC_PUBLIC, "call", descriptor.append(")Ljava/lang/Object;").toString(), null, null);
+                mv.visitCode();
+                loadInstance(mv, method);
+                for (int i = 0; i < parameters.length; i++) {
+                    mv.visitVarInsn(ALOAD, 2 + i);
+                    unbox(mv, parameters[i]);
+                }
+                invoke(mv, method);
+                mv.visitMaxs(0, 0);
+                mv.visitEnd();
+            }
+
+            mv = cw.visitMethod(ACC_PUBLIC, "toString", "()Ljava/lang/String;", null, null);
+            mv.visitCode();
+            mv.visitLdcInsn("GeneratedCaller(" + method + ")");
+            mv.visitInsn(ARETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+
+            cw.visitEnd();
+            return cw.toByteArray();
+        }
+
+        private static void loadInstance(MethodVisitor mv, Method method) {
+            if (Modifier.isStatic(method.getModifiers()))
+                return;
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitTypeInsn(CHECKCAST, Type.getInternalName(method.getDeclaringClass()));
+        }
+
+        private static void invoke(MethodVisitor mv, Method method) {
+            Class<?> owner = method.getDeclaringClass();
+            int opcode = Modifier.isStatic(method.getModifiers()) ? INVOKESTATIC
+                    : owner.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL;
+            mv.visitMethodInsn(opcode, Type.getInternalName(owner), method.getName(),
+                    Type.getMethodDescriptor(method), owner.isInterface());
+            box(mv, method.getReturnType());
+            mv.visitInsn(ARETURN);
+        }
+
+        private static void unbox(MethodVisitor mv, Class<?> type) {
+            if (!type.isPrimitive()) {
+                if (type != Object.class)
+                    mv.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+                return;
+            }
+            Type wrapper = Type.getType(wrapper(type));
+            mv.visitTypeInsn(CHECKCAST, wrapper.getInternalName());
+            mv.visitMethodInsn(INVOKEVIRTUAL, wrapper.getInternalName(), type.getName() + "Value",
+                    "()" + Type.getDescriptor(type), false);
+        }
+
+        private static void box(MethodVisitor mv, Class<?> type) {
+            if (type == void.class) {
+                mv.visitInsn(ACONST_NULL);
+            } else if (type.isPrimitive()) {
+                Class<?> wrapper = wrapper(type);
+                mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(wrapper), "valueOf",
+                        "(" + Type.getDescriptor(type) + ")" + Type.getDescriptor(wrapper), false);
+            }
+        }
+
+        private static Class<?> wrapper(Class<?> primitive) {
+            return MethodType.methodType(primitive).wrap().returnType();
+        }
+    }
+}
@@ -27,17 +27,16 @@ import lombok.SneakyThrows;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.util.ArrayList;
-import java.util.List;
-
-import static java.util.Collections.addAll;
 
 /**
  * A high-level wrapper, responsible for invoking methods reflectively.
+ * <p>
+ * Callers with 0 to 3 arguments have dedicated overloads which invoke
+ * the underlying method without allocating a varargs array. Note that
+ * passing a single {@code Object[]} to a fixed-arity overload will
+ * pass the array itself as an argument, not spread it.
  */
 public interface MethodCaller {
 
@@ -50,6 +49,52 @@ public interface MethodCaller {
      */
     Object call(@Nullable Object instance, Object... arguments);
 
+    /**
+     * Calls the method of this caller, which takes no arguments
+     *
+     * @param instance Instance to call from. Can be null
+     * @return The return result
+     */
+    default Object call(@Nullable Object instance) {
+        return call(instance, new Object[0]);
+    }
+
+    /**
+     * Calls the method of this caller, which takes one argument
+     *
+     * @param instance Instance to call from. Can be null
+     * @param a        The first argument
+     * @return The return result
+     */
+    default Object call(@Nullable Object instance, Object a) {
+        return call(instance, new Object[]{a});
+    }
+
+    /**
+     * Calls the method of this caller, which takes two arguments
+     *
+     * @param instance Instance to call from. Can be null
+     * @param a        The first argument
+     * @param b        The second argument
+     * @return The return result
+     */
+    default Object call(@Nullable Object instance, Object a, Object b) {
+        return call(instance, new Object[]{a, b});
+    }
+
+    /**
+     * Calls the method of this caller, which takes three arguments
+     *
+     * @param instance Instance to call from. Can be null
+     * @param a        The first argument
+     * @param b        The second argument
+     * @param c        The third argument
+     * @return The return result
+     */
+    default Object call(@Nullable Object instance, Object a, Object b, Object c) {
+        return call(instance, new Object[]{a, b, c});
+    }
+
     /**
      * Binds this caller to the specified instance. Calls from the bound method
      * caller will no longer need an instance to call from.
@@ -59,7 +104,27 @@ public interface MethodCaller {
      * @return The bound method caller
      */
     default BoundMethodCaller bindTo(@Nullable Object instance) {
-        return arguments -> call(instance, arguments);
+        return new BoundMethodCaller() {
+            @Override public Object call(@NotNull Object... arguments) {
+                return MethodCaller.this.call(instance, arguments);
+            }
+
+            @Override public Object call() {
+                return MethodCaller.this.call(instance);
+            }
+
+            @Override public Object call(Object a) {
+                return MethodCaller.this.call(instance, a);
+            }
+
+            @Override public Object call(Object a, Object b) {
+                return MethodCaller.this.call(instance, a, b);
+            }
+
+            @Override public Object call(Object a, Object b, Object c) {
+                return MethodCaller.this.call(instance, a, b, c);
+            }
+        };
     }
 
     /**
@@ -74,35 +139,67 @@ public interface MethodCaller {
          * @return The return result
          */
         Object call(@NotNull Object... arguments);
+
+        /**
+         * Calls the method of this caller, which takes no arguments
+         *
+         * @return The return result
+         */
+        default Object call() {
+            return call(new Object[0]);
+        }
+
+        /**
+         * Calls the method of this caller, which takes one argument
+         *
+         * @param a The first argument
+         * @return The return result
+         */
+        default Object call(Object a) {
+            return call(new Object[]{a});
+        }
+
+        /**
+         * Calls the method of this caller, which takes two arguments
+         *
+         * @param a The first argument
+         * @param b The second argument
+         * @return The return result
+         */
+        default Object call(Object a, Object b) {
+            return call(new Object[]{a, b});
+        }
+
+        /**
+         * Calls the method of this caller, which takes three arguments
+         *
+         * @param a The first argument
+         * @param b The second argument
+         * @param c The third argument
+         * @return The return result
+         */
+        default Object call(Object a, Object b, Object c) {
+            return call(new Object[]{a, b, c});
+        }
     }
 
     /**
-     * Wraps the given method in a {@link MethodCaller}
+     * Wraps the given method in a {@link MethodCaller}. If enabled, the caller
+     * is generated to call the method directly.
      *
      * @param method Method to wrap
      * @return The method caller
+     * @see GeneratedCaller
      */
     @SneakyThrows
     static @NotNull MethodCaller wrap(@NotNull Method method) {
+        if (GeneratedCaller.isEnabled()) {
+            MethodCaller generated = GeneratedCaller.generate(method);
+            if (generated != null)
+                return generated;
+        }
         if (!method.isAccessible()) method.setAccessible(true);
-        MethodHandle handle = MethodHandles.lookup().unreflect(method);
-        String methodString = method.toString();
-        boolean isStatic = Modifier.isStatic(method.getModifiers());
-        return new MethodCaller() {
-            @SneakyThrows @Override public Object call(@Nullable Object instance, Object... arguments) {
-                if (!isStatic) {
-                    List<Object> args = new ArrayList<>();
-                    args.add(instance);
-                    addAll(args, arguments);
-                    return handle.invokeWithArguments(args);
-                }
-                return handle.invokeWithArguments(arguments);
-            }
-
-            @Override public String toString() {
-                return "MethodHandlesCaller(" + methodString + ")";
-            }
-        };
+        return new MethodHandleCaller(method, MethodHandles.lookup().unreflect(method));
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.reflect;
+
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * A {@link MethodCaller} backed by a {@link MethodHandle} that is adapted
+ * once to a generic {@code (Object...)Object} shape, so that every call
+ * can use {@link MethodHandle#invokeExact(Object...)} instead of
+ * {@link MethodHandle#invokeWithArguments(Object...)}.
+ */
+final class MethodHandleCaller implements MethodCaller {
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    /**
+     * The handle, adapted to take (and return) plain objects. Instance
+     * methods receive the instance as the first parameter.
+     */
+    private final MethodHandle exact;
+
+    /**
+     * The same handle, collecting the method arguments from a trailing
+     * {@code Object[]}. Used for the varargs {@link #call(Object, Object...)}
+     */
+    private final MethodHandle spreader;
+
+    private final boolean isStatic;
+    private final int arity;
+    private final String methodString;
+
+    MethodHandleCaller(@NotNull Method method, @NotNull MethodHandle handle) {
+        this.isStatic = Modifier.isStatic(method.getModifiers());
+        this.arity = method.getParameterCount();
+        this.methodString = method.toString();
+        this.exact = handle.asFixedArity().asType(MethodType.genericMethodType(isStatic ? arity : arity + 1));
+        this.spreader = exact.asSpreader(Object[].class, arity);
+    }
+
+    @SneakyThrows @Override public Object call(@Nullable Object instance, Object... arguments) {
+        if (isStatic)
+            return (Object) spreader.invokeExact(arguments);
+        return (Object) spreader.invokeExact(instance, arguments);
+    }
+
+    @SneakyThrows @Override public Object call(@Nullable Object instance) {
+        if (arity != 0)
+            return call(instance, NO_ARGUMENTS);
+        if (isStatic)
+            return (Object) exact.invokeExact();
+        return (Object) exact.invokeExact(instance);
+    }
+
+    @SneakyThrows @Override public Object call(@Nullable Object instance, Object a) {
+        if (arity != 1)
+            return call(instance, new Object[]{a});
+        if (isStatic)
+            return (Object) exact.invokeExact(a);
+        return (Object) exact.invokeExact(instance, a);
+    }
+
+    @SneakyThrows @Override public Object call(@Nullable Object instance, Object a, Object b) {
+        if (arity != 2)
+            return call(instance, new Object[]{a, b});
+        if (isStatic)
+            return (Object) exact.invokeExact(a, b);
+        return (Object) exact.invokeExact(instance, a, b);
+    }
+
+    @SneakyThrows @Override public Object call(@Nullable Object instance, Object a, Object b, Object c) {
+        if (arity != 3)
+            return call(instance, new Object[]{a, b, c});
+        if (isStatic)
+            return (Object) exact.invokeExact(a, b, c);
+        return (Object) exact.invokeExact(instance, a, b, c);
+    }
+
+    @Override public String toString() {
+        return "MethodHandlesCaller(" + methodString + ")";
+    }
+}
@@ -35,6 +35,10 @@ import java.lang.reflect.Field;
  * Represents a field that is accessible with reflection. This API
  * uses MethodHandles to get and set fields, and will propagate any
  * exceptions.
+ * <p>
+ * For fields that are accessed on hot paths, prefer {@link #fieldHandle(Class, String)}
+ * and keep the returned field in a {@code static final} field, which allows
+ * the JIT to compile accesses down to plain field reads and writes.
  *
  * @param <T> Field type
  */
@@ -122,7 +126,7 @@ public interface ReflectField<T> {
 
             @SneakyThrows @Override public void set(Object instance, T value) {
                 if (instance == null) setter.invoke(value);
-                setter.invoke(instance, value);
+                else setter.invoke(instance, value);
             }
         };
     }
@@ -177,6 +181,22 @@ public interface ReflectField<T> {
         };
     }
 
+    /**
+     * Returns a {@link ReflectField} that is backed by a {@code VarHandle}
+     * for the given field when running on Java 9 or newer, and by
+     * {@link #getterAndSetter(Class, String)} otherwise. Static fields ignore
+     * the instance passed to {@link #get(Object)} and {@link #set(Object, Object)}.
+     *
+     * @param type      Class to get from
+     * @param fieldName Field name
+     * @param <T>       The field type
+     * @return The {@link  ReflectField}
+     */
+    static <T> @NotNull ReflectField<T> fieldHandle(@NotNull Class<?> type,
+                                                    @NotNull String fieldName) {
+        return FieldEngine.create(findField(type, fieldName));
+    }
+
     /**
      * Finds the given field in the class
      *
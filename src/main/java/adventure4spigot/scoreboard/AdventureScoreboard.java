@@ -23,12 +23,12 @@
  */
 package adventure4spigot.scoreboard;
 
-import adventure4spigot.util.GameVersion;
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 import net.kyori.adventure.text.Component;
 import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
 import org.jetbrains.annotations.NotNull;
 
 public interface AdventureScoreboard {
@@ -42,14 +42,62 @@ public interface AdventureScoreboard {
 
     Component getDisplayName(Objective objective);
 
+    /**
+     * Sets the prefix of the given team. Backends that cannot set components
+     * fall back to legacy text.
+     *
+     * @param team   Team to set for
+     * @param prefix The prefix
+     */
+    default void setPrefix(Team team, Component prefix) {
+        team.setPrefix(ByRawString.toLegacyAffix(prefix));
+    }
+
+    /**
+     * Sets the suffix of the given team. Backends that cannot set components
+     * fall back to legacy text.
+     *
+     * @param team   Team to set for
+     * @param suffix The suffix
+     */
+    default void setSuffix(Team team, Component suffix) {
+        team.setSuffix(ByRawString.toLegacyAffix(suffix));
+    }
+
+    /**
+     * Renders a whole sidebar line through the given team. Versions that limit
+     * the prefix length may split the line across the prefix and the suffix.
+     *
+     * @param team Team of the line
+     * @param line The line to render
+     * @see Sidebar
+     */
+    default void setLine(Team team, Component line) {
+        setPrefix(team, line);
+    }
+
+    /**
+     * Converts the given component into the form this backend sets objective
+     * display names in
+     *
+     * @param displayName Component to convert
+     * @return The converted value
+     */
+    default Object toNative(Component displayName) {
+        return displayName;
+    }
+
+    /**
+     * Sets a display name that was converted with {@link #toNative(Component)}
+     *
+     * @param objective   Objective to set for
+     * @param displayName The converted display name
+     */
+    default void setNativeDisplayName(Objective objective, Object displayName) {
+        setDisplayName(objective, (Component) displayName);
+    }
+
     @SuppressWarnings("Guava")
-    Supplier<AdventureScoreboard> SCOREBOARD = Suppliers.memoize(() -> {
-        if (ByPaper.isSupported())
-            return new ByPaper();
-        else if (GameVersion.PROTOCOL <= 12)
-            return new ByRawString();
-        else
-            return new ByComponent();
-    });
+    Supplier<AdventureScoreboard> SCOREBOARD = Suppliers.memoize(ScoreboardBackends::select);
 
 }
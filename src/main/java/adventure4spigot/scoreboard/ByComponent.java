@@ -23,25 +23,32 @@
  */
 package adventure4spigot.scoreboard;
 
+import adventure4spigot.jfr.FlightEvents;
+import adventure4spigot.metrics.Metrics;
 import adventure4spigot.reflect.MethodCaller;
 import adventure4spigot.reflect.MethodCaller.BoundMethodCaller;
 import adventure4spigot.reflect.ReflectField;
+import adventure4spigot.util.ConversionCache;
 import adventure4spigot.util.GameVersion;
+import adventure4spigot.util.JsonComponentSerializer;
+import adventure4spigot.util.NmsComponents;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
 import org.jetbrains.annotations.NotNull;
 
+
+import static adventure4spigot.reflect.ReflectField.fieldHandle;
 import static adventure4spigot.util.GameVersion.*;
-import static net.kyori.adventure.text.serializer.gson.GsonComponentSerializer.colorDownsamplingGson;
-import static net.kyori.adventure.text.serializer.gson.GsonComponentSerializer.gson;
+import static adventure4spigot.util.JsonComponentSerializer.colorDownsamplingGson;
+import static adventure4spigot.util.JsonComponentSerializer.gson;
 
 // versions 1.13.2-1.17.1: we must manually call ScoreboardObjective#setDisplayName()
 // versions 1.18.1: it's ScoreboardObjective#a()
-final class ByComponent implements AdventureScoreboard {
+final class ByComponent implements AdventureScoreboard, RawObjectiveAccess {
 
-    private static final GsonComponentSerializer SERIALIZER = supportsHexColors() ? gson() : colorDownsamplingGson();
+    private static final JsonComponentSerializer SERIALIZER = supportsHexColors() ? gson() : colorDownsamplingGson();
 
     private static final Class<?> COMPONENT = nmsClass(
             "IChatBaseComponent",
@@ -58,10 +65,33 @@ final class ByComponent implements AdventureScoreboard {
             "world.scores.ScoreboardObjective"
     );
 
+    private static final ConversionCache<String> CACHE = ConversionCache.create("scoreboard.ByComponent");
+
     private static final BoundMethodCaller C_TO_S;
     private static final BoundMethodCaller S_TO_C;
     private static final MethodCaller setDisplayName, getDisplayName;
-    private static final ReflectField<Object> objectiveField;
+    private static final ReflectField<Object> OBJECTIVE = fieldHandle(ocbClass("scoreboard.CraftObjective"), "objective");
+
+    // versions 1.13 - 1.17: ScoreboardTeam#setPrefix() and #setSuffix(). Newer versions use
+    // obfuscated names, and fall back to legacy strings
+    private static final ReflectField<Object> TEAM;
+    private static final MethodCaller setPrefix, setSuffix;
+
+    static {
+        ReflectField<Object> team = null;
+        MethodCaller prefix = null, suffix = null;
+        try {
+            Class<?> scoreboardTeam = nmsClass("ScoreboardTeam", "world.scores.ScoreboardTeam");
+            prefix = MethodCaller.wrap(scoreboardTeam.getDeclaredMethod("setPrefix", COMPONENT));
+            suffix = MethodCaller.wrap(scoreboardTeam.getDeclaredMethod("setSuffix", COMPONENT));
+            team = fieldHandle(ocbClass("scoreboard.CraftTeam"), "team");
+        } catch (Throwable t) {
+            prefix = suffix = null;
+        }
+        TEAM = team;
+        setPrefix = prefix;
+        setSuffix = suffix;
+    }
 
     static {
         try {
@@ -74,7 +104,6 @@ final class ByComponent implements AdventureScoreboard {
                 getDisplayName = MethodCaller.wrap(SCOREBOARD_OBJECTIVE.getDeclaredMethod("getDisplayName"));
                 setDisplayName = MethodCaller.wrap(SCOREBOARD_OBJECTIVE.getDeclaredMethod("setDisplayName", COMPONENT));
             }
-            objectiveField = ReflectField.getter(ocbClass("scoreboard.CraftObjective"), "objectiveField");
         } catch (NoSuchMethodException e) {
             throw new RuntimeException(e);
         }
@@ -90,16 +119,79 @@ final class ByComponent implements AdventureScoreboard {
     }
 
     @Override public void setDisplayName(Objective objective, Component displayName) {
-        Object nmsObjective = objectiveField.get(objective);
-        String asJson = SERIALIZER.serialize(displayName);
-        Object chatComponent = S_TO_C.call(asJson);
-        setDisplayName.call(nmsObjective, chatComponent);
+        Object nmsObjective = (Object) OBJECTIVE.get(objective);
+        setDisplayName.call(nmsObjective, toNms(displayName));
     }
 
     @Override public Component getDisplayName(Objective objective) {
-        Object nmsObjective = objectiveField.get(objective);
+        Object nmsObjective = (Object) OBJECTIVE.get(objective);
         Object chatComponent = getDisplayName.call(nmsObjective);
-        String json = (String) C_TO_S.call(chatComponent);
-        return SERIALIZER.deserialize(json);
+        return fromNms(chatComponent);
+    }
+
+    @Override public Object getRawDisplayName(Objective objective) {
+        return getDisplayName.call((Object) OBJECTIVE.get(objective));
+    }
+
+    @Override public boolean isLossless() {
+        // before 1.16, hex colors are downsampled
+        return supportsHexColors();
+    }
+
+    @Override public void setPrefix(Team team, Component prefix) {
+        if (setPrefix == null)
+            AdventureScoreboard.super.setPrefix(team, prefix);
+        else
+            setPrefix.call(handle(team), toNms(prefix));
+    }
+
+    @Override public void setSuffix(Team team, Component suffix) {
+        if (setSuffix == null)
+            AdventureScoreboard.super.setSuffix(team, suffix);
+        else
+            setSuffix.call(handle(team), toNms(suffix));
+    }
+
+    /**
+     * Returns the ScoreboardTeam of the given team. Like CraftTeam's own
+     * setters, this throws if the team was unregistered.
+     */
+    private static Object/*ScoreboardTeam*/ handle(Team team) {
+        team.getName(); // CraftTeam#checkState()
+        return (Object) TEAM.get(team);
+    }
+
+    /**
+     * NMS components are mutable, so the native form is their JSON, and every
+     * objective gets its own NMS component parsed from it
+     */
+    @Override public Object toNative(Component displayName) {
+        return CACHE.get(displayName, ByComponent::serialize);
+    }
+
+    @Override public void setNativeDisplayName(Objective objective, Object displayName) {
+        setDisplayName.call((Object) OBJECTIVE.get(objective), S_TO_C.call(displayName));
+    }
+
+    /**
+     * Converts the component into a new IChatBaseComponent. They are mutable,
+     * so only their JSON goes through the conversion cache.
+     */
+    static Object/*IChatBaseComponent*/ toNms(Component component) {
+        Object nms = NmsComponents.toNms(component);
+        if (nms != null)
+            return nms;
+        return S_TO_C.call(CACHE.get(component, ByComponent::serialize));
+    }
+
+    private static String serialize(Component component) {
+        return Metrics.countJson(FlightEvents.serialize("scoreboard.ByComponent", SERIALIZER, component));
+    }
+
+    private static Component fromNms(Object/*IChatBaseComponent*/ component) {
+        Component adventure = NmsComponents.fromNms(component);
+        if (adventure != null)
+            return adventure;
+        return SERIALIZER.deserialize((String) C_TO_S.call(component));
     }
 }
@@ -27,6 +27,7 @@ import adventure4spigot.reflect.MethodCaller;
 import net.kyori.adventure.text.Component;
 import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
 import org.jetbrains.annotations.NotNull;
 
 final class ByPaper implements AdventureScoreboard {
@@ -34,6 +35,7 @@ final class ByPaper implements AdventureScoreboard {
     private static final boolean IS_SUPPORTED;
     private static MethodCaller regNewObj;
     private static MethodCaller getDisplayName, setDisplayName;
+    private static MethodCaller setPrefix, setSuffix;
 
     static {
         boolean isSupported = true;
@@ -41,6 +43,8 @@ final class ByPaper implements AdventureScoreboard {
             regNewObj = MethodCaller.wrap(Scoreboard.class.getDeclaredMethod("registerNewObjective", String.class, String.class, Component.class));
             getDisplayName = MethodCaller.wrap(Objective.class.getDeclaredMethod("displayName"));
             setDisplayName = MethodCaller.wrap(Objective.class.getDeclaredMethod("displayName", Component.class));
+            setPrefix = MethodCaller.wrap(Team.class.getDeclaredMethod("prefix", Component.class));
+            setSuffix = MethodCaller.wrap(Team.class.getDeclaredMethod("suffix", Component.class));
         } catch (NoSuchMethodException e) {
             isSupported = false;
         }
@@ -59,6 +63,14 @@ final class ByPaper implements AdventureScoreboard {
         return (Component) getDisplayName.call(objective);
     }
 
+    @Override public void setPrefix(Team team, Component prefix) {
+        setPrefix.call(team, prefix);
+    }
+
+    @Override public void setSuffix(Team team, Component suffix) {
+        setSuffix.call(team, suffix);
+    }
+
     public static boolean isSupported() {
         return IS_SUPPORTED;
     }
@@ -23,29 +23,112 @@
  */
 package adventure4spigot.scoreboard;
 
+import adventure4spigot.util.ConversionCache;
+import adventure4spigot.util.GameVersion;
+import adventure4spigot.util.LegacySectionSerializer;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.ChatColor;
 import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
 import org.jetbrains.annotations.NotNull;
 
-final class ByRawString implements AdventureScoreboard {
+final class ByRawString implements AdventureScoreboard, RawObjectiveAccess {
 
-    private static final LegacyComponentSerializer SERIALIZER = LegacyComponentSerializer.legacySection();
+    private static final LegacySectionSerializer SERIALIZER = LegacySectionSerializer.legacySection();
+    private static final ConversionCache<String> CACHE = ConversionCache.create("scoreboard.ByRawString");
+
+    /**
+     * The maximum length of team prefixes and suffixes before 1.13
+     */
+    private static final int MAX_AFFIX_LENGTH = 16;
+
+    /**
+     * The maximum length of team prefixes and suffixes since 1.13
+     */
+    private static final int MAX_MODERN_AFFIX_LENGTH = 64;
 
     @Override
     @SuppressWarnings("deprecation")
     public Objective registerNewObjective(@NotNull Scoreboard scoreboard, @NotNull String name, @NotNull String criteria, @NotNull Component displayName) {
         Objective objective = scoreboard.registerNewObjective(name, criteria);
-        objective.setDisplayName(SERIALIZER.serialize(displayName));
+        objective.setDisplayName(CACHE.get(displayName, SERIALIZER::serialize));
         return objective;
     }
 
     @Override public void setDisplayName(Objective objective, Component displayName) {
-        objective.setDisplayName(SERIALIZER.serialize(displayName));
+        objective.setDisplayName(CACHE.get(displayName, SERIALIZER::serialize));
     }
 
     @Override public Component getDisplayName(Objective objective) {
         return SERIALIZER.deserialize(objective.getDisplayName());
     }
+
+    @Override public Object toNative(Component displayName) {
+        return CACHE.get(displayName, SERIALIZER::serialize);
+    }
+
+    @Override public void setNativeDisplayName(Objective objective, Object displayName) {
+        objective.setDisplayName((String) displayName);
+    }
+
+    @Override public Object getRawDisplayName(Objective objective) {
+        // before 1.13, this is the string stored by the objective
+        return objective.getDisplayName();
+    }
+
+    @Override public boolean isLossless() {
+        // legacy text drops events, fonts and hex colors
+        return false;
+    }
+
+    @Override public void setPrefix(Team team, Component prefix) {
+        team.setPrefix(truncate(CACHE.get(prefix, SERIALIZER::serialize), MAX_AFFIX_LENGTH));
+    }
+
+    @Override public void setSuffix(Team team, Component suffix) {
+        team.setSuffix(truncate(CACHE.get(suffix, SERIALIZER::serialize), MAX_AFFIX_LENGTH));
+    }
+
+    @Override public void setLine(Team team, Component line) {
+        String legacy = CACHE.get(line, SERIALIZER::serialize);
+        if (legacy.length() <= MAX_AFFIX_LENGTH) {
+            team.setPrefix(legacy);
+            team.setSuffix("");
+            return;
+        }
+        // the suffix does not inherit the prefix's formatting, so it is carried over
+        String prefix = truncate(legacy, MAX_AFFIX_LENGTH);
+        team.setPrefix(prefix);
+        team.setSuffix(truncate(ChatColor.getLastColors(prefix) + legacy.substring(prefix.length()), MAX_AFFIX_LENGTH));
+    }
+
+    /**
+     * Converts the team prefix or suffix to legacy text, truncated to the
+     * length this version allows
+     *
+     * @param affix The prefix or suffix
+     * @return The legacy text
+     */
+    static String toLegacyAffix(Component affix) {
+        int maxLength = GameVersion.supports(13) ? MAX_MODERN_AFFIX_LENGTH : MAX_AFFIX_LENGTH;
+        return truncate(CACHE.get(affix, SERIALIZER::serialize), maxLength);
+    }
+
+    /**
+     * Truncates the legacy string to the given length, without leaving
+     * a dangling section sign at its end
+     *
+     * @param legacy    String to truncate
+     * @param maxLength The maximum length
+     * @return The truncated string
+     */
+    static String truncate(String legacy, int maxLength) {
+        if (legacy.length() <= maxLength)
+            return legacy;
+        int end = maxLength;
+        if (legacy.charAt(end - 1) == ChatColor.COLOR_CHAR)
+            end--;
+        return legacy.substring(0, end);
+    }
 }
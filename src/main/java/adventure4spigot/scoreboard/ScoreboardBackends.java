@@ -0,0 +1,93 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.scoreboard;
+
+import adventure4spigot.adapter.VersionAdapter;
+import adventure4spigot.adapter.VersionAdapters;
+import adventure4spigot.jfr.FlightEvents;
+import adventure4spigot.metrics.InstrumentedScoreboard;
+import adventure4spigot.metrics.Metrics;
+import adventure4spigot.util.GameVersion;
+import adventure4spigot.util.ProbeCache;
+
+/**
+ * Chooses the {@link AdventureScoreboard} backend of this server. A compatible
+ * {@link VersionAdapter} takes precedence, otherwise the choice of the previous
+ * boot is reused if it is still valid.
+ */
+final class ScoreboardBackends {
+
+    private ScoreboardBackends() {}
+
+    private static final String PROBE = "scoreboard.backend";
+
+    static AdventureScoreboard select() {
+        VersionAdapter adapter = VersionAdapters.get();
+        if (adapter != null) {
+            AdventureScoreboard backend = adapter.createScoreboardBackend();
+            if (backend != null)
+                return instrument(TrackedScoreboard.wrap(backend), adapter.getName());
+        }
+        String cached = ProbeCache.get(PROBE);
+        if (cached != null) {
+            try {
+                return instrument(create(cached), cached);
+            } catch (Throwable t) {
+                ProbeCache.invalidate(PROBE);
+            }
+        }
+        String probed = probe();
+        ProbeCache.put(PROBE, probed);
+        return instrument(create(probed), probed);
+    }
+
+    private static AdventureScoreboard instrument(AdventureScoreboard backend, String name) {
+        Metrics.setInfo("scoreboard.backend", name);
+        return InstrumentedScoreboard.wrap(FlightEvents.wrap(backend, "scoreboard." + name), "scoreboard." + name);
+    }
+
+    private static String probe() {
+        if (ByPaper.isSupported())
+            return "ByPaper";
+        else if (GameVersion.PROTOCOL <= 12)
+            return "ByRawString";
+        else
+            return "ByComponent";
+    }
+
+    private static AdventureScoreboard create(String backend) {
+        switch (backend) {
+            case "ByPaper":
+                if (!ByPaper.isSupported())
+                    throw new IllegalStateException("Paper's component API is not available");
+                return new ByPaper();
+            case "ByRawString":
+                return TrackedScoreboard.wrap(new ByRawString());
+            case "ByComponent":
+                return TrackedScoreboard.wrap(new ByComponent());
+            default:
+                throw new IllegalArgumentException("Unknown scoreboard backend: " + backend);
+        }
+    }
+}
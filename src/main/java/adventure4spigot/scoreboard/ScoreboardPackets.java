@@ -0,0 +1,195 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.scoreboard;
+
+import adventure4spigot.reflect.MethodCaller;
+import adventure4spigot.util.GameVersion;
+import lombok.SneakyThrows;
+import net.kyori.adventure.text.Component;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+
+import static adventure4spigot.util.GameVersion.nmsClass;
+
+/**
+ * Builds scoreboard packets through the public packet constructors of
+ * versions 1.13 - 1.16.
+ * <p>
+ * The packets are built from NMS objectives and teams that belong to a
+ * detached NMS scoreboard. That scoreboard is never registered with the
+ * server, so it does not track players or send anything by itself.
+ */
+final class ScoreboardPackets implements SidebarPackets {
+
+    static final ScoreboardPackets INSTANCE = new ScoreboardPackets();
+
+    private ScoreboardPackets() {}
+
+    private static final int SIDEBAR_SLOT = 1;
+
+    private static final Object SCOREBOARD, DUMMY_CRITERIA, INTEGER_DISPLAY;
+    private static final Object CHANGE_SCORE, REMOVE_SCORE;
+    private static final MethodHandle NEW_OBJECTIVE, NEW_TEAM;
+    private static final MethodHandle OBJECTIVE_PACKET, DISPLAY_PACKET, SCORE_PACKET, TEAM_PACKET, TEAM_ENTRIES_PACKET;
+    private static final MethodCaller SET_DISPLAY_NAME, SET_PREFIX;
+    private static final boolean SUPPORTED;
+
+    static {
+        Object scoreboard = null, dummy = null, integer = null, change = null, remove = null;
+        MethodHandle newObjective = null, newTeam = null, objectivePacket = null, displayPacket = null,
+                scorePacket = null, teamPacket = null, teamEntriesPacket = null;
+        MethodCaller setDisplayName = null, setPrefix = null;
+        boolean supported = false;
+        // 1.17 replaced the packet constructors with factories
+        if (GameVersion.PROTOCOL >= 13 && GameVersion.PROTOCOL <= 16) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                Class<?> component = nmsClass("IChatBaseComponent");
+                Class<?> scoreboardType = nmsClass("Scoreboard");
+                Class<?> objective = nmsClass("ScoreboardObjective");
+                Class<?> team = nmsClass("ScoreboardTeam");
+                Class<?> criteria = nmsClass("IScoreboardCriteria");
+                Class<?> healthDisplay = nmsClass("IScoreboardCriteria$EnumScoreboardHealthDisplay");
+                Class<?> action = nmsClass("ScoreboardServer$Action");
+
+                scoreboard = scoreboardType.getConstructor().newInstance();
+                dummy = dummyCriteria(criteria);
+                integer = enumConstant(healthDisplay, "INTEGER");
+                change = enumConstant(action, "CHANGE");
+                remove = enumConstant(action, "REMOVE");
+
+                newObjective = lookup.unreflectConstructor(objective.getConstructor(scoreboardType, String.class, criteria, component, healthDisplay))
+                        .asType(MethodType.methodType(Object.class, Object.class, String.class, Object.class, Object.class, Object.class));
+                newTeam = lookup.unreflectConstructor(team.getConstructor(scoreboardType, String.class))
+                        .asType(MethodType.methodType(Object.class, Object.class, String.class));
+                setDisplayName = MethodCaller.wrap(objective.getDeclaredMethod("setDisplayName", component));
+                setPrefix = MethodCaller.wrap(team.getDeclaredMethod("setPrefix", component));
+
+                objectivePacket = lookup.unreflectConstructor(nmsClass("PacketPlayOutScoreboardObjective").getConstructor(objective, int.class))
+                        .asType(MethodType.methodType(Object.class, Object.class, int.class));
+                displayPacket = lookup.unreflectConstructor(nmsClass("PacketPlayOutScoreboardDisplayObjective").getConstructor(int.class, objective))
+                        .asType(MethodType.methodType(Object.class, int.class, Object.class));
+                scorePacket = lookup.unreflectConstructor(nmsClass("PacketPlayOutScoreboardScore").getConstructor(action, String.class, String.class, int.class))
+                        .asType(MethodType.methodType(Object.class, Object.class, String.class, String.class, int.class));
+                Class<?> teamPacketType = nmsClass("PacketPlayOutScoreboardTeam");
+                teamPacket = lookup.unreflectConstructor(teamPacketType.getConstructor(team, int.class))
+                        .asType(MethodType.methodType(Object.class, Object.class, int.class));
+                teamEntriesPacket = lookup.unreflectConstructor(teamPacketType.getConstructor(team, Collection.class, int.class))
+                        .asType(MethodType.methodType(Object.class, Object.class, Collection.class, int.class));
+                supported = dummy != null;
+            } catch (Throwable t) {
+                supported = false;
+            }
+        }
+        SCOREBOARD = scoreboard;
+        DUMMY_CRITERIA = dummy;
+        INTEGER_DISPLAY = integer;
+        CHANGE_SCORE = change;
+        REMOVE_SCORE = remove;
+        NEW_OBJECTIVE = newObjective;
+        NEW_TEAM = newTeam;
+        SET_DISPLAY_NAME = setDisplayName;
+        SET_PREFIX = setPrefix;
+        OBJECTIVE_PACKET = objectivePacket;
+        DISPLAY_PACKET = displayPacket;
+        SCORE_PACKET = scorePacket;
+        TEAM_PACKET = teamPacket;
+        TEAM_ENTRIES_PACKET = teamEntriesPacket;
+        SUPPORTED = supported;
+    }
+
+    static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    @SneakyThrows
+    @Override public Object newObjective(String name, Component displayName) {
+        return (Object) NEW_OBJECTIVE.invokeExact(SCOREBOARD, name, DUMMY_CRITERIA, ByComponent.toNms(displayName), INTEGER_DISPLAY);
+    }
+
+    @Override public void setDisplayName(Object objective, Component displayName) {
+        SET_DISPLAY_NAME.call(objective, ByComponent.toNms(displayName));
+    }
+
+    @SneakyThrows
+    @Override public Object newTeam(String name) {
+        return (Object) NEW_TEAM.invokeExact(SCOREBOARD, name);
+    }
+
+    @Override public void setPrefix(Object team, Component prefix) {
+        SET_PREFIX.call(team, ByComponent.toNms(prefix));
+    }
+
+    @SneakyThrows
+    @Override public Object objective(Object objective, int mode) {
+        return (Object) OBJECTIVE_PACKET.invokeExact(objective, mode);
+    }
+
+    @SneakyThrows
+    @Override public Object displaySidebar(Object objective) {
+        return (Object) DISPLAY_PACKET.invokeExact(SIDEBAR_SLOT, objective);
+    }
+
+    @SneakyThrows
+    @Override public Object setScore(String objective, String entry, int score) {
+        return (Object) SCORE_PACKET.invokeExact(CHANGE_SCORE, objective, entry, score);
+    }
+
+    @SneakyThrows
+    @Override public Object resetScore(String objective, String entry) {
+        return (Object) SCORE_PACKET.invokeExact(REMOVE_SCORE, objective, entry, 0);
+    }
+
+    @SneakyThrows
+    @Override public Object team(Object team, int mode) {
+        return (Object) TEAM_PACKET.invokeExact(team, mode);
+    }
+
+    @SneakyThrows
+    @Override public Object teamEntries(Object team, Collection<String> entries, int mode) {
+        return (Object) TEAM_ENTRIES_PACKET.invokeExact(team, entries, mode);
+    }
+
+    private static Object dummyCriteria(Class<?> criteria) throws ReflectiveOperationException {
+        MethodCaller getName = MethodCaller.wrap(criteria.getMethod("getName"));
+        for (Field field : criteria.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == criteria) {
+                Object value = field.get(null);
+                if (value != null && "dummy".equals(getName.call(value)))
+                    return value;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object enumConstant(Class<?> type, String name) {
+        return Enum.valueOf((Class) type, name);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.scoreboard;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A sidebar whose lines are components, rendered through team prefixes and
+ * suffixes.
+ * <p>
+ * The sidebar remembers what it last rendered, and only updates the title and
+ * the lines that actually changed. This makes it cheap to refresh all lines
+ * frequently, for example once a second for every player.
+ * <p>
+ * Each line is a team named {@code a4s-line-<index>}, so a scoreboard can only
+ * show one sidebar at a time. Sidebars are not thread-safe, and must be used on
+ * the server thread.
+ */
+public final class Sidebar {
+
+    /**
+     * The maximum number of lines the client displays
+     */
+    public static final int MAX_LINES = 15;
+
+    private final AdventureScoreboard backend;
+    private final Scoreboard scoreboard;
+    private final Objective objective;
+    private final Team[] teams = new Team[MAX_LINES];
+    private final Component[] rendered = new Component[MAX_LINES];
+    private Component title;
+    private int size;
+
+    private Sidebar(AdventureScoreboard backend, Scoreboard scoreboard, Objective objective, Component title) {
+        this.backend = backend;
+        this.scoreboard = scoreboard;
+        this.objective = objective;
+        this.title = title;
+    }
+
+    /**
+     * Registers a new objective on the given scoreboard and displays it
+     * in the sidebar
+     *
+     * @param scoreboard Scoreboard to display the sidebar on
+     * @param name       Name of the objective
+     * @param title      Title of the sidebar
+     * @return The sidebar, with no lines
+     * @throws IllegalArgumentException if an objective by that name already exists
+     */
+    public static @NotNull Sidebar create(@NotNull Scoreboard scoreboard, @NotNull String name, @NotNull Component title) {
+        return create(AdventureScoreboard.SCOREBOARD.get(), scoreboard, name, title);
+    }
+
+    static @NotNull Sidebar create(@NotNull AdventureScoreboard backend, @NotNull Scoreboard scoreboard,
+                                   @NotNull String name, @NotNull Component title) {
+        Objective objective = backend.registerNewObjective(scoreboard, name, "dummy", title);
+        objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+        return new Sidebar(backend, scoreboard, objective, title);
+    }
+
+    /**
+     * Sets the title of this sidebar, if it changed
+     *
+     * @param title The new title
+     */
+    public void setTitle(@NotNull Component title) {
+        if (title.equals(this.title))
+            return;
+        backend.setDisplayName(objective, title);
+        this.title = title;
+    }
+
+    /**
+     * Sets all lines of this sidebar, from top to bottom. Only the lines that
+     * changed are sent to players.
+     *
+     * @param lines The new lines
+     * @throws IllegalArgumentException if there are more than {@link #MAX_LINES} lines
+     */
+    public void setLines(@NotNull List<Component> lines) {
+        int newSize = lines.size();
+        if (newSize > MAX_LINES)
+            throw new IllegalArgumentException("A sidebar can have at most " + MAX_LINES + " lines, got " + newSize);
+        for (int i = 0; i < newSize; i++) {
+            if (i >= size)
+                show(i);
+            render(i, lines.get(i));
+        }
+        for (int i = newSize; i < size; i++)
+            scoreboard.resetScores(entry(i));
+        if (newSize != size) {
+            // scores order the lines, so they shift when lines are added or removed
+            for (int i = 0; i < newSize; i++)
+                objective.getScore(entry(i)).setScore(newSize - i);
+            size = newSize;
+        }
+    }
+
+    /**
+     * Sets a single line of this sidebar, if it changed
+     *
+     * @param index Index of the line, starting from the top
+     * @param line  The new line
+     * @throws IndexOutOfBoundsException if there is no line at that index
+     */
+    public void setLine(int index, @NotNull Component line) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        render(index, line);
+    }
+
+    /**
+     * Returns the lines that are currently displayed
+     *
+     * @return An immutable copy of the lines
+     */
+    public @NotNull List<Component> getLines() {
+        return Collections.unmodifiableList(new ArrayList<>(Arrays.asList(rendered).subList(0, size)));
+    }
+
+    /**
+     * Returns the title of this sidebar
+     *
+     * @return The title
+     */
+    public @NotNull Component getTitle() {
+        return title;
+    }
+
+    /**
+     * Returns the objective this sidebar is displayed by
+     *
+     * @return The objective
+     */
+    public @NotNull Objective getObjective() {
+        return objective;
+    }
+
+    /**
+     * Unregisters the objective and the line teams of this sidebar
+     */
+    public void delete() {
+        objective.unregister();
+        for (int i = 0; i < MAX_LINES; i++) {
+            if (teams[i] != null) {
+                teams[i].unregister();
+                teams[i] = null;
+            }
+            rendered[i] = null;
+        }
+        size = 0;
+    }
+
+    private void show(int index) {
+        if (teams[index] != null)
+            return;
+        String name = teamName(index);
+        Team team = scoreboard.getTeam(name);
+        if (team == null)
+            team = scoreboard.registerNewTeam(name);
+        team.addEntry(entry(index));
+        teams[index] = team;
+    }
+
+    private void render(int index, Component line) {
+        Component previous = rendered[index];
+        if (line == previous || line.equals(previous))
+            return;
+        backend.setLine(teams[index], line);
+        rendered[index] = line;
+    }
+
+    /**
+     * Returns the name of the team of the line at the given index
+     */
+    static String teamName(int index) {
+        return "a4s-line-" + index;
+    }
+
+    /**
+     * Returns the invisible, unique entry of the line at the given index, which
+     * is a color code followed by a reset code
+     */
+    static String entry(int index) {
+        return "\u00A7" + Integer.toHexString(index) + "\u00A7r";
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.scoreboard;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.Collection;
+
+/**
+ * Builds the packets that draw a {@link VirtualScoreboard}. Objectives and
+ * teams are opaque handles, which are only passed back to the instance that
+ * created them.
+ *
+ * @see ScoreboardPackets
+ */
+interface SidebarPackets {
+
+    int OBJECTIVE_CREATE = 0, OBJECTIVE_REMOVE = 1, OBJECTIVE_UPDATE = 2;
+    int TEAM_CREATE = 0, TEAM_REMOVE = 1, TEAM_UPDATE = 2, TEAM_ADD_ENTRIES = 3;
+
+    Object newObjective(String name, Component displayName);
+
+    void setDisplayName(Object objective, Component displayName);
+
+    Object newTeam(String name);
+
+    void setPrefix(Object team, Component prefix);
+
+    Object objective(Object objective, int mode);
+
+    Object displaySidebar(Object objective);
+
+    Object setScore(String objective, String entry, int score);
+
+    Object resetScore(String objective, String entry);
+
+    Object team(Object team, int mode);
+
+    Object teamEntries(Object team, Collection<String> entries, int mode);
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.scoreboard;
+
+import adventure4spigot.util.WriteTracker;
+import net.kyori.adventure.text.Component;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Skips objective display name writes that would not change the objective,
+ * and therefore would only send a redundant packet, and answers reads of
+ * display names that were written through it, if the backend reads them
+ * back unchanged.
+ *
+ * @see WriteTracker
+ */
+final class TrackedScoreboard implements AdventureScoreboard {
+
+    private static final WriteTracker DISPLAY_NAMES = WriteTracker.create("scoreboard.displayName");
+
+    private final AdventureScoreboard delegate;
+    private final RawObjectiveAccess raw;
+    private final boolean mirror;
+
+    private <T extends AdventureScoreboard & RawObjectiveAccess> TrackedScoreboard(T delegate) {
+        this.delegate = delegate;
+        this.raw = delegate;
+        this.mirror = delegate.isLossless();
+    }
+
+    /**
+     * Wraps the given backend if its writes can be tracked
+     *
+     * @param scoreboard Backend to wrap
+     * @return The tracked backend, or the given one
+     */
+    static AdventureScoreboard wrap(AdventureScoreboard scoreboard) {
+        if (scoreboard instanceof RawObjectiveAccess)
+            return new TrackedScoreboard((AdventureScoreboard & RawObjectiveAccess) scoreboard);
+        return scoreboard;
+    }
+
+    @Override public Objective registerNewObjective(@NotNull Scoreboard scoreboard,
+                                                    @NotNull String name,
+                                                    @NotNull String criteria,
+                                                    @NotNull Component displayName) {
+        return delegate.registerNewObjective(scoreboard, name, criteria, displayName);
+    }
+
+    @Override public void setDisplayName(Objective objective, Component displayName) {
+        if (!WriteTracker.isTracking()) {
+            delegate.setDisplayName(objective, displayName);
+            return;
+        }
+        if (DISPLAY_NAMES.isUnchanged(objective, displayName, raw.getRawDisplayName(objective)))
+            return;
+        delegate.setDisplayName(objective, displayName);
+        DISPLAY_NAMES.record(objective, displayName, raw.getRawDisplayName(objective));
+    }
+
+    @Override public Component getDisplayName(Objective objective) {
+        if (mirror && WriteTracker.isMirrorEnabled()) {
+            Object written = DISPLAY_NAMES.lookup(objective, raw.getRawDisplayName(objective));
+            if (written != null)
+                return (Component) written;
+        }
+        return delegate.getDisplayName(objective);
+    }
+
+    @Override public void setPrefix(Team team, Component prefix) {
+        delegate.setPrefix(team, prefix);
+    }
+
+    @Override public void setSuffix(Team team, Component suffix) {
+        delegate.setSuffix(team, suffix);
+    }
+
+    @Override public void setLine(Team team, Component line) {
+        delegate.setLine(team, line);
+    }
+
+    @Override public Object toNative(Component displayName) {
+        return delegate.toNative(displayName);
+    }
+
+    @Override public void setNativeDisplayName(Objective objective, Object displayName) {
+        delegate.setNativeDisplayName(objective, displayName);
+    }
+
+    @Override public String toString() {
+        return "TrackedScoreboard(" + delegate + ")";
+    }
+}
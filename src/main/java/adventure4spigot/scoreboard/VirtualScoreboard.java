@@ -0,0 +1,220 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.scoreboard;
+
+import adventure4spigot.packet.PacketSink;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static adventure4spigot.scoreboard.SidebarPackets.*;
+
+/**
+ * A sidebar that only exists on the client.
+ * <p>
+ * Unlike {@link Sidebar}, this does not need a Bukkit {@code Scoreboard} per
+ * player. The objective, scores and line teams are sent as packets built
+ * directly through reflection, and the server does not track any of them.
+ * Every update is sent to the {@link PacketSink} as a single flushed batch,
+ * and only contains the title and lines that changed.
+ * <p>
+ * This supports versions 1.13 - 1.16, see {@link #isSupported()}. Virtual
+ * scoreboards are not thread-safe, and must be used on the server thread
+ * unless the sink says otherwise.
+ */
+public final class VirtualScoreboard {
+
+    private final SidebarPackets packets;
+    private final PacketSink sink;
+    private final String name;
+    private final Object objective;
+    private final Object[] teams = new Object[Sidebar.MAX_LINES];
+    private final Component[] rendered = new Component[Sidebar.MAX_LINES];
+    private Component title;
+    private int size;
+    private boolean deleted;
+
+    private VirtualScoreboard(SidebarPackets packets, PacketSink sink, String name, Component title) {
+        this.packets = packets;
+        this.sink = sink;
+        this.name = name;
+        this.title = title;
+        this.objective = packets.newObjective(name, title);
+    }
+
+    /**
+     * Returns whether virtual scoreboards are supported on this version
+     *
+     * @return If virtual scoreboards are supported
+     */
+    public static boolean isSupported() {
+        return ScoreboardPackets.isSupported();
+    }
+
+    /**
+     * Creates a virtual scoreboard, and sends its objective to the sidebar
+     *
+     * @param sink  Sink to send packets to, such as a player
+     * @param name  Name of the objective. This must not be used by any other
+     *              objective the client knows of
+     * @param title Title of the sidebar
+     * @return The virtual scoreboard, with no lines
+     * @throws UnsupportedOperationException if virtual scoreboards are not supported
+     */
+    public static @NotNull VirtualScoreboard create(@NotNull PacketSink sink, @NotNull String name, @NotNull Component title) {
+        if (!isSupported())
+            throw new UnsupportedOperationException("Virtual scoreboards are not supported on this version");
+        return create(ScoreboardPackets.INSTANCE, sink, name, title);
+    }
+
+    static @NotNull VirtualScoreboard create(@NotNull SidebarPackets packets, @NotNull PacketSink sink,
+                                             @NotNull String name, @NotNull Component title) {
+        VirtualScoreboard scoreboard = new VirtualScoreboard(packets, sink, name, title);
+        sink.send(packets.objective(scoreboard.objective, OBJECTIVE_CREATE));
+        sink.send(packets.displaySidebar(scoreboard.objective));
+        sink.flush();
+        return scoreboard;
+    }
+
+    /**
+     * Sets the title of the sidebar, if it changed
+     *
+     * @param title The new title
+     */
+    public void setTitle(@NotNull Component title) {
+        checkNotDeleted();
+        if (title.equals(this.title))
+            return;
+        packets.setDisplayName(objective, title);
+        this.title = title;
+        sink.send(packets.objective(objective, OBJECTIVE_UPDATE));
+        sink.flush();
+    }
+
+    /**
+     * Sets all lines of the sidebar, from top to bottom. Only the lines that
+     * changed are sent.
+     *
+     * @param lines The new lines
+     * @throws IllegalArgumentException if there are more than {@link Sidebar#MAX_LINES} lines
+     */
+    public void setLines(@NotNull List<Component> lines) {
+        checkNotDeleted();
+        int newSize = lines.size();
+        if (newSize > Sidebar.MAX_LINES)
+            throw new IllegalArgumentException("A sidebar can have at most " + Sidebar.MAX_LINES + " lines, got " + newSize);
+        for (int i = 0; i < newSize; i++) {
+            if (teams[i] == null)
+                createLine(i, lines.get(i));
+            else
+                render(i, lines.get(i));
+        }
+        for (int i = newSize; i < size; i++)
+            sink.send(packets.resetScore(name, Sidebar.entry(i)));
+        if (newSize != size) {
+            // scores order the lines, so they shift when lines are added or removed
+            for (int i = 0; i < newSize; i++)
+                sink.send(packets.setScore(name, Sidebar.entry(i), newSize - i));
+            size = newSize;
+        }
+        sink.flush();
+    }
+
+    /**
+     * Sets a single line of the sidebar, if it changed
+     *
+     * @param index Index of the line, starting from the top
+     * @param line  The new line
+     * @throws IndexOutOfBoundsException if there is no line at that index
+     */
+    public void setLine(int index, @NotNull Component line) {
+        checkNotDeleted();
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        render(index, line);
+        sink.flush();
+    }
+
+    /**
+     * Returns the lines that are currently displayed
+     *
+     * @return An immutable copy of the lines
+     */
+    public @NotNull List<Component> getLines() {
+        return Collections.unmodifiableList(new ArrayList<>(Arrays.asList(rendered).subList(0, size)));
+    }
+
+    /**
+     * Returns the title of the sidebar
+     *
+     * @return The title
+     */
+    public @NotNull Component getTitle() {
+        return title;
+    }
+
+    /**
+     * Removes the objective and the line teams from the client. The virtual
+     * scoreboard cannot be used afterwards.
+     */
+    public void delete() {
+        if (deleted)
+            return;
+        deleted = true;
+        sink.send(packets.objective(objective, OBJECTIVE_REMOVE));
+        for (Object team : teams) {
+            if (team != null)
+                sink.send(packets.team(team, TEAM_REMOVE));
+        }
+        sink.flush();
+    }
+
+    private void createLine(int index, Component line) {
+        Object team = packets.newTeam(Sidebar.teamName(index));
+        packets.setPrefix(team, line);
+        teams[index] = team;
+        rendered[index] = line;
+        sink.send(packets.team(team, TEAM_CREATE));
+        sink.send(packets.teamEntries(team, Collections.singletonList(Sidebar.entry(index)), TEAM_ADD_ENTRIES));
+    }
+
+    private void render(int index, Component line) {
+        Component previous = rendered[index];
+        if (line == previous || line.equals(previous))
+            return;
+        Object team = teams[index];
+        packets.setPrefix(team, line);
+        rendered[index] = line;
+        sink.send(packets.team(team, TEAM_UPDATE));
+    }
+
+    private void checkNotDeleted() {
+        if (deleted)
+            throw new IllegalStateException("This virtual scoreboard has been deleted");
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.util;
+
+import adventure4spigot.metrics.Metrics;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of conversions from a {@link Component} to the form a backend
+ * stores, such as its JSON or legacy string.
+ * <p>
+ * Components are immutable, so a component always converts to the same value.
+ * Cached values are handed to every caller, so they must be immutable too:
+ * backends that store mutable NMS components cache their JSON instead.
+ * <p>
+ * Caches are disabled by default, in which case every lookup converts directly.
+ * All caches share the maximum size set by {@link #setMaximumSize(long)}, and
+ * evict the least recently used entries once they exceed it. Entries that are
+ * not used for {@link #setExpireAfterAccess(long, TimeUnit) a while} are
+ * evicted as well.
+ *
+ * @param <V> The converted type
+ */
+public final class ConversionCache<V> {
+
+    private static final List<ConversionCache<?>> CACHES = new CopyOnWriteArrayList<>();
+    private static final Stats EMPTY_STATS = new Stats(0, 0, 0);
+
+    private static volatile long maximumSize = 0;
+    private static volatile long expireAfterAccessNanos = TimeUnit.MINUTES.toNanos(10);
+
+    private final String name;
+    private volatile @Nullable Cache<Component, V> cache;
+
+    private ConversionCache(@NotNull String name) {
+        this.name = name;
+        this.cache = newCache();
+    }
+
+    /**
+     * Creates and registers a new conversion cache
+     *
+     * @param name Name of the cache, used to report its statistics
+     * @param <V>  The converted type
+     * @return The cache
+     */
+    public static <V> @NotNull ConversionCache<V> create(@NotNull String name) {
+        ConversionCache<V> cache = new ConversionCache<>(name);
+        CACHES.add(cache);
+        Metrics.registerGauge("cache." + name + ".hitRate", () -> cache.stats().getHitRate());
+        return cache;
+    }
+
+    /**
+     * Returns the converted form of the given component, converting and caching
+     * it if it is not cached yet
+     *
+     * @param component Component to convert
+     * @param converter The conversion function
+     * @return The converted value
+     */
+    public V get(@NotNull Component component, @NotNull Function<Component, V> converter) {
+        Cache<Component, V> cache = this.cache;
+        if (cache == null)
+            return converter.apply(component);
+        V value = cache.getIfPresent(component);
+        if (value == null) {
+            value = converter.apply(component);
+            cache.put(component, value);
+        }
+        return value;
+    }
+
+    /**
+     * Converts all the given components, in order
+     *
+     * @param components Components to convert
+     * @param converter  The conversion function
+     * @return A new, mutable list of the converted values
+     */
+    public @NotNull List<V> getAll(@NotNull List<Component> components, @NotNull Function<Component, V> converter) {
+        List<V> values = new ArrayList<>(components.size());
+        for (Component component : components) {
+            values.add(get(component, converter));
+        }
+        return values;
+    }
+
+    /**
+     * Returns the hit and miss statistics of this cache, since it was
+     * last resized
+     *
+     * @return The cache statistics
+     */
+    public @NotNull Stats stats() {
+        Cache<Component, V> cache = this.cache;
+        if (cache == null)
+            return EMPTY_STATS;
+        CacheStats stats = cache.stats();
+        return new Stats(stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+
+    /**
+     * Returns the name of this cache
+     *
+     * @return The cache name
+     */
+    public @NotNull String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the maximum number of entries each conversion cache may hold.
+     * Existing caches are cleared.
+     *
+     * @param maximumSize The maximum size. {@code 0} disables caching
+     */
+    public static void setMaximumSize(long maximumSize) {
+        if (maximumSize < 0)
+            throw new IllegalArgumentException("maximumSize cannot be negative: " + maximumSize);
+        ConversionCache.maximumSize = maximumSize;
+        rebuildAll();
+    }
+
+    /**
+     * Returns the maximum number of entries each conversion cache may hold
+     *
+     * @return The maximum size. {@code 0} if caching is disabled
+     */
+    public static long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets how long entries are kept after they were last used. Existing
+     * caches are cleared.
+     *
+     * @param duration How long entries are kept
+     * @param unit     The unit of the duration
+     */
+    public static void setExpireAfterAccess(long duration, @NotNull TimeUnit unit) {
+        if (duration <= 0)
+            throw new IllegalArgumentException("duration must be positive: " + duration);
+        ConversionCache.expireAfterAccessNanos = unit.toNanos(duration);
+        rebuildAll();
+    }
+
+    /**
+     * Returns the statistics of every registered cache
+     *
+     * @return An immutable map of cache names to their statistics
+     */
+    public static @NotNull Map<String, Stats> allStats() {
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        for (ConversionCache<?> cache : CACHES) {
+            stats.put(cache.name, cache.stats());
+        }
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Clears every registered cache
+     */
+    public static void invalidateAll() {
+        for (ConversionCache<?> cache : CACHES) {
+            Cache<Component, ?> c = cache.cache;
+            if (c != null) c.invalidateAll();
+        }
+    }
+
+    private static void rebuildAll() {
+        for (ConversionCache<?> cache : CACHES) {
+            cache.cache = newCache();
+        }
+    }
+
+    private static <V> @Nullable Cache<Component, V> newCache() {
+        if (maximumSize == 0)
+            return null;
+        return CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccessNanos, TimeUnit.NANOSECONDS)
+                .recordStats()
+                .build();
+    }
+
+    @Override public String toString() {
+        return "ConversionCache(" + name + ")";
+    }
+
+    /**
+     * Hit, miss and eviction counts of a conversion cache
+     */
+    public static final class Stats {
+
+        private final long hitCount, missCount, evictionCount;
+
+        private Stats(long hitCount, long missCount, long evictionCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+        }
+
+        /**
+         * Returns the number of lookups that found a cached value
+         *
+         * @return The hit count
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * Returns the number of lookups that had to convert
+         *
+         * @return The miss count
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * Returns the number of entries evicted for size or age
+         *
+         * @return The eviction count
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * Returns the total number of lookups
+         *
+         * @return The request count
+         */
+        public long getRequestCount() {
+            return hitCount + missCount;
+        }
+
+        /**
+         * Returns the ratio of lookups that found a cached value, or
+         * {@code 1} if there were none
+         *
+         * @return The hit rate
+         */
+        public double getHitRate() {
+            long requests = getRequestCount();
+            return requests == 0 ? 1.0 : (double) hitCount / requests;
+        }
+
+        @Override public String toString() {
+            return "Stats(hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + ")";
+        }
+    }
+}
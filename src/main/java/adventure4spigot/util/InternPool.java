@@ -0,0 +1,121 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.util;
+
+import adventure4spigot.metrics.Metrics;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shares identical display names and lore between items, so that thousands of
+ * items with the same lore do not each hold their own copy of it.
+ * <p>
+ * Only strings, such as JSON or legacy text, are interned. Native values such
+ * as NMS components are mutable, and sharing one instance between items would
+ * let a change to one item leak into the others, so they are never pooled.
+ * Interned strings are weakly referenced, and are dropped once no item uses
+ * them anymore.
+ * <p>
+ * Interning is disabled by default, see {@link #setEnabled(boolean)}. The
+ * memory it saves is estimated from the size of the copies that were dropped
+ * in favor of a shared instance, and reported as {@link Metrics#INTERN_BYTES_SAVED}.
+ */
+public final class InternPool {
+
+    private static final LongAdder BYTES_SAVED = new LongAdder();
+
+    private static volatile Interner<String> strings = Interners.newWeakInterner();
+    private static volatile boolean enabled = false;
+
+    private InternPool() {}
+
+    /**
+     * Returns the shared instance of the given string
+     *
+     * @param value The string
+     * @return The shared string, or the given string if interning is disabled
+     */
+    public static @NotNull String intern(@NotNull String value) {
+        if (!enabled)
+            return value;
+        String shared = strings.intern(value);
+        if (shared != value)
+            saved(estimateSize(value));
+        return shared;
+    }
+
+    /**
+     * Sets whether strings are interned. Disabling it discards the pool,
+     * though strings that are already shared stay shared.
+     *
+     * @param enabled Whether strings are interned
+     */
+    public static void setEnabled(boolean enabled) {
+        InternPool.enabled = enabled;
+        if (!enabled)
+            strings = Interners.newWeakInterner();
+    }
+
+    /**
+     * Returns whether strings are interned
+     *
+     * @return If interning is enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the estimated number of bytes saved by sharing strings,
+     * since the server started
+     *
+     * @return The estimated bytes saved
+     */
+    public static long getBytesSaved() {
+        return BYTES_SAVED.sum();
+    }
+
+    private static void saved(long bytes) {
+        BYTES_SAVED.add(bytes);
+        Metrics.addTotal(Metrics.INTERN_BYTES_SAVED, bytes);
+    }
+
+    /**
+     * Estimates the size of a string: its header and array, with one byte
+     * per character if every character is Latin-1, otherwise two
+     */
+    private static long estimateSize(String value) {
+        int bytesPerChar = 1;
+        for (int i = 0, length = value.length(); i < length; i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return 40 + (long) bytesPerChar * value.length();
+    }
+}
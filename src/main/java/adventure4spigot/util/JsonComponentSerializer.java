@@ -0,0 +1,731 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.util;
+
+import adventure4spigot.metrics.Metrics;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.BuildableComponent;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentBuilder;
+import net.kyori.adventure.text.KeybindComponent;
+import net.kyori.adventure.text.ScoreComponent;
+import net.kyori.adventure.text.SelectorComponent;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.serializer.ComponentSerializer;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A drop-in replacement for {@link GsonComponentSerializer#gson()} and
+ * {@link GsonComponentSerializer#colorDownsamplingGson()} that does not build
+ * Gson object trees.
+ * <p>
+ * Components are written straight into a reused per-thread buffer, and read
+ * back with a pull parser, producing exactly what Gson would. Text,
+ * translatable, keybind, score and selector components are supported, with
+ * any style except item and entity hover events.
+ * <p>
+ * Everything else, including JSON that is not strict, goes to Gson. The codec
+ * is checked against Gson once when this class is initialized, and disabled
+ * if the results differ.
+ */
+public final class JsonComponentSerializer implements ComponentSerializer<Component, Component, String> {
+
+    private static final JsonComponentSerializer GSON = new JsonComponentSerializer(GsonComponentSerializer.gson(), false);
+    private static final JsonComponentSerializer DOWNSAMPLING = new JsonComponentSerializer(GsonComponentSerializer.colorDownsamplingGson(), true);
+
+    /**
+     * Decorations in the order Gson writes them
+     */
+    private static final TextDecoration[] DECORATIONS = {
+            TextDecoration.BOLD, TextDecoration.ITALIC, TextDecoration.UNDERLINED,
+            TextDecoration.STRIKETHROUGH, TextDecoration.OBFUSCATED
+    };
+
+    /**
+     * Escapes for the ASCII characters that Gson escapes, with HTML escaping
+     * enabled as it is by default
+     */
+    private static final String[] ESCAPES = new String[128];
+
+    /**
+     * Buffers larger than this are not kept for the next call
+     */
+    private static final int MAX_RETAINED_CAPACITY = 8192;
+
+    /**
+     * Deeper components are left to Gson
+     */
+    private static final int MAX_DEPTH = 512;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+    private static final boolean SUPPORTED;
+
+    static {
+        for (int c = 0; c < 0x20; c++)
+            ESCAPES[c] = String.format("\\u%04x", c);
+        ESCAPES['"'] = "\\\"";
+        ESCAPES['\\'] = "\\\\";
+        ESCAPES['\t'] = "\\t";
+        ESCAPES['\b'] = "\\b";
+        ESCAPES['\n'] = "\\n";
+        ESCAPES['\r'] = "\\r";
+        ESCAPES['\f'] = "\\f";
+        ESCAPES['<'] = "\\u003c";
+        ESCAPES['>'] = "\\u003e";
+        ESCAPES['&'] = "\\u0026";
+        ESCAPES['='] = "\\u003d";
+        ESCAPES['\''] = "\\u0027";
+        SUPPORTED = TextDecoration.values().length == DECORATIONS.length
+                && GSON.selfTest() && DOWNSAMPLING.selfTest();
+    }
+
+    private final GsonComponentSerializer gson;
+
+    /**
+     * Whether hex colors are written as the nearest named color, and text
+     * hover events are repeated in the legacy {@code value} field. Gson's
+     * downsampling serializer does both.
+     */
+    private final boolean legacy;
+
+    private JsonComponentSerializer(GsonComponentSerializer gson, boolean legacy) {
+        this.gson = gson;
+        this.legacy = legacy;
+    }
+
+    /**
+     * Returns the serializer that matches {@link GsonComponentSerializer#gson()}
+     *
+     * @return The serializer
+     */
+    public static @NotNull JsonComponentSerializer gson() {
+        return GSON;
+    }
+
+    /**
+     * Returns the serializer that matches {@link GsonComponentSerializer#colorDownsamplingGson()}
+     *
+     * @return The serializer
+     */
+    public static @NotNull JsonComponentSerializer colorDownsamplingGson() {
+        return DOWNSAMPLING;
+    }
+
+    /**
+     * Returns whether components skip Gson on this server
+     *
+     * @return If the codec is supported
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    @Override public @NotNull String serialize(@NotNull Component component) {
+        if (SUPPORTED) {
+            String json = write(component);
+            if (json != null) {
+                Metrics.addTotal(Metrics.JSON_FAST_PATH, 1);
+                return json;
+            }
+        }
+        Metrics.addTotal(Metrics.JSON_FALLBACK, 1);
+        return gson.serialize(component);
+    }
+
+    @Override public @NotNull Component deserialize(@NotNull String input) {
+        if (SUPPORTED) {
+            Component component = read(input);
+            if (component != null) {
+                Metrics.addTotal(Metrics.JSON_FAST_PATH, 1);
+                return component;
+            }
+        }
+        Metrics.addTotal(Metrics.JSON_FALLBACK, 1);
+        return gson.deserialize(input);
+    }
+
+    private @Nullable String write(Component component) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        String json = new Writer(buffer, legacy).component(component, 0) ? buffer.toString() : null;
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY)
+            BUFFER.set(new StringBuilder(128));
+        return json;
+    }
+
+    private static @Nullable Component read(String input) {
+        try {
+            Reader reader = new Reader(input);
+            Component component = reader.component(0);
+            return reader.atEnd() ? component : null;
+        } catch (RuntimeException e) {
+            // the JSON needs Gson, or is invalid somewhere Gson may not look,
+            // such as a legacy hover value next to its contents
+            return null;
+        }
+    }
+
+    /**
+     * Writes components the way Gson does: the style, then the children,
+     * then the content
+     */
+    private static final class Writer {
+
+        private final StringBuilder out;
+        private final boolean legacy;
+
+        Writer(StringBuilder out, boolean legacy) {
+            this.out = out;
+            this.legacy = legacy;
+        }
+
+        @SuppressWarnings("deprecation") // ScoreComponent#value()
+        boolean component(Component component, int depth) {
+            if (depth > MAX_DEPTH)
+                return false;
+            out.append('{');
+            if (component.hasStyling() && !style(component.style(), depth))
+                return false;
+            List<Component> children = component.children();
+            if (!children.isEmpty()) {
+                name("extra");
+                if (!components(children, depth))
+                    return false;
+            }
+            if (component instanceof TextComponent) {
+                name("text");
+                string(((TextComponent) component).content());
+            } else if (component instanceof TranslatableComponent) {
+                TranslatableComponent translatable = (TranslatableComponent) component;
+                name("translate");
+                string(translatable.key());
+                if (!translatable.args().isEmpty()) {
+                    name("with");
+                    if (!components(translatable.args(), depth))
+                        return false;
+                }
+            } else if (component instanceof ScoreComponent) {
+                ScoreComponent score = (ScoreComponent) component;
+                name("score");
+                out.append('{');
+                name("name");
+                string(score.name());
+                name("objective");
+                string(score.objective());
+                if (score.value() != null) {
+                    name("value");
+                    string(score.value());
+                }
+                out.append('}');
+            } else if (component instanceof SelectorComponent) {
+                SelectorComponent selector = (SelectorComponent) component;
+                name("selector");
+                string(selector.pattern());
+                if (selector.separator() != null) {
+                    name("separator");
+                    if (!component(selector.separator(), depth + 1))
+                        return false;
+                }
+            } else if (component instanceof KeybindComponent) {
+                name("keybind");
+                string(((KeybindComponent) component).keybind());
+            } else {
+                return false;
+            }
+            out.append('}');
+            return true;
+        }
+
+        private boolean components(List<Component> components, int depth) {
+            out.append('[');
+            for (int i = 0, size = components.size(); i < size; i++) {
+                if (i > 0)
+                    out.append(',');
+                if (!component(components.get(i), depth + 1))
+                    return false;
+            }
+            out.append(']');
+            return true;
+        }
+
+        private boolean style(Style style, int depth) {
+            for (TextDecoration decoration : DECORATIONS) {
+                TextDecoration.State state = style.decoration(decoration);
+                if (state != TextDecoration.State.NOT_SET) {
+                    name(TextDecoration.NAMES.key(decoration));
+                    out.append(state == TextDecoration.State.TRUE);
+                }
+            }
+            TextColor color = style.color();
+            if (color != null) {
+                name("color");
+                string(colorName(color));
+            }
+            if (style.insertion() != null) {
+                name("insertion");
+                string(style.insertion());
+            }
+            ClickEvent clickEvent = style.clickEvent();
+            if (clickEvent != null) {
+                name("clickEvent");
+                out.append('{');
+                name("action");
+                string(ClickEvent.Action.NAMES.key(clickEvent.action()));
+                name("value");
+                string(clickEvent.value());
+                out.append('}');
+            }
+            HoverEvent<?> hoverEvent = style.hoverEvent();
+            if (hoverEvent != null) {
+                if (hoverEvent.action() != HoverEvent.Action.SHOW_TEXT)
+                    return false;
+                name("hoverEvent");
+                out.append('{');
+                name("action");
+                string(HoverEvent.Action.NAMES.key(hoverEvent.action()));
+                name("contents");
+                if (!component((Component) hoverEvent.value(), depth + 1))
+                    return false;
+                if (legacy) {
+                    name("value");
+                    if (!component((Component) hoverEvent.value(), depth + 1))
+                        return false;
+                }
+                out.append('}');
+            }
+            Key font = style.font();
+            if (font != null) {
+                name("font");
+                string(font.asString());
+            }
+            return true;
+        }
+
+        private String colorName(TextColor color) {
+            if (color instanceof NamedTextColor)
+                return NamedTextColor.NAMES.key((NamedTextColor) color);
+            if (legacy)
+                return NamedTextColor.NAMES.key(NamedTextColor.nearestTo(color));
+            return color.asHexString();
+        }
+
+        private void name(String name) {
+            if (out.charAt(out.length() - 1) != '{')
+                out.append(',');
+            out.append('"').append(name).append("\":");
+        }
+
+        private void string(String value) {
+            out.append('"');
+            int last = 0;
+            for (int i = 0, length = value.length(); i < length; i++) {
+                char c = value.charAt(i);
+                String escape;
+                if (c < 128) {
+                    escape = ESCAPES[c];
+                    if (escape == null)
+                        continue;
+                } else if (c == '\u2028') {
+                    escape = "\\u2028";
+                } else if (c == '\u2029') {
+                    escape = "\\u2029";
+                } else {
+                    continue;
+                }
+                out.append(value, last, i).append(escape);
+                last = i + 1;
+            }
+            out.append(value, last, value.length()).append('"');
+        }
+    }
+
+    /**
+     * Thrown by the {@link Reader} when the input must be read by Gson
+     */
+    private static final class ReaderException extends RuntimeException {
+
+        private static final ReaderException INSTANCE = new ReaderException();
+
+        private ReaderException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Reads components the way Gson does, from strict JSON. Anything Gson
+     * reads differently, ignores or rejects, such as unknown fields,
+     * duplicate fields or lenient syntax, is left for Gson to handle or
+     * report.
+     */
+    private static final class Reader {
+
+        private final String input;
+        private int pos;
+
+        Reader(String input) {
+            this.input = input;
+        }
+
+        boolean atEnd() {
+            skipWhitespace();
+            return pos == input.length();
+        }
+
+        @SuppressWarnings("deprecation") // ScoreComponent.Builder#value(String)
+        Component component(int depth) {
+            if (depth > MAX_DEPTH)
+                throw ReaderException.INSTANCE;
+            skipWhitespace();
+            char c = peek();
+            if (c == '"')
+                return Component.text(string());
+            if (c == '[') {
+                List<Component> components = components(depth);
+                if (components.isEmpty())
+                    throw ReaderException.INSTANCE;
+                ComponentBuilder<?, ?> parent = ((BuildableComponent<?, ?>) components.get(0)).toBuilder();
+                for (int i = 1; i < components.size(); i++)
+                    parent.append(components.get(i));
+                return parent.build();
+            }
+            expect('{');
+            String text = null, translate = null, selector = null, keybind = null;
+            String scoreName = null, scoreObjective = null, scoreValue = null;
+            List<Component> with = null, extra = Collections.emptyList();
+            Component separator = null;
+            Style.Builder style = Style.style();
+            List<String> names = new ArrayList<>(4);
+            if (!consume('}')) {
+                do {
+                    String name = name(names);
+                    switch (name) {
+                        case "text": text = string(); break;
+                        case "translate": translate = string(); break;
+                        case "with": with = components(depth); break;
+                        case "selector": selector = string(); break;
+                        case "keybind": keybind = string(); break;
+                        case "extra": extra = components(depth); break;
+                        case "separator": separator = component(depth + 1); break;
+                        case "score":
+                            List<String> scoreNames = new ArrayList<>(3);
+                            expect('{');
+                            do {
+                                switch (name(scoreNames)) {
+                                    case "name": scoreName = string(); break;
+                                    case "objective": scoreObjective = string(); break;
+                                    case "value": scoreValue = string(); break;
+                                    default: throw ReaderException.INSTANCE;
+                                }
+                            } while (consume(','));
+                            expect('}');
+                            if (scoreName == null || scoreObjective == null)
+                                throw ReaderException.INSTANCE;
+                            break;
+                        default:
+                            styleField(name, style, depth);
+                    }
+                } while (consume(','));
+                expect('}');
+            }
+            ComponentBuilder<?, ?> builder;
+            if (text != null)
+                builder = Component.text().content(text);
+            else if (translate != null)
+                builder = with != null ? Component.translatable().key(translate).args(with) : Component.translatable().key(translate);
+            else if (scoreName != null)
+                builder = scoreValue == null
+                        ? Component.score().name(scoreName).objective(scoreObjective)
+                        : Component.score().name(scoreName).objective(scoreObjective).value(scoreValue);
+            else if (selector != null)
+                builder = Component.selector().pattern(selector).separator(separator);
+            else if (keybind != null)
+                builder = Component.keybind().keybind(keybind);
+            else
+                throw ReaderException.INSTANCE;
+            return builder.style(style.build()).append(extra).build();
+        }
+
+        /**
+         * Reads a style field. Like Gson, they are applied in the order
+         * they appear, since a color may also set a decoration.
+         */
+        private void styleField(String name, Style.Builder style, int depth) {
+            switch (name) {
+                case "color": {
+                    String value = string();
+                    TextColor color = value.startsWith("#") ? TextColor.fromHexString(value) : NamedTextColor.NAMES.value(value);
+                    TextDecoration decoration = TextDecoration.NAMES.value(value);
+                    // like Gson, colors are only downsampled when writing
+                    if (color != null)
+                        style.color(color);
+                    else if (decoration != null)
+                        style.decoration(decoration, TextDecoration.State.TRUE);
+                    else if (!value.equals("reset"))
+                        throw ReaderException.INSTANCE;
+                    break;
+                }
+                case "insertion":
+                    style.insertion(string());
+                    break;
+                case "font":
+                    style.font(Key.key(string()));
+                    break;
+                case "clickEvent": {
+                    ClickEvent.Action action = null;
+                    String value = null;
+                    List<String> names = new ArrayList<>(2);
+                    expect('{');
+                    do {
+                        switch (name(names)) {
+                            case "action":
+                                action = ClickEvent.Action.NAMES.value(string());
+                                if (action == null)
+                                    throw ReaderException.INSTANCE;
+                                break;
+                            case "value":
+                                value = string();
+                                break;
+                            default:
+                                throw ReaderException.INSTANCE;
+                        }
+                    } while (consume(','));
+                    expect('}');
+                    // a null or missing value is left to Gson
+                    if (value == null)
+                        throw ReaderException.INSTANCE;
+                    if (action != null && action.readable())
+                        style.clickEvent(ClickEvent.clickEvent(action, value));
+                    break;
+                }
+                case "hoverEvent": {
+                    HoverEvent.Action<?> action = null;
+                    Component contents = null, value = null;
+                    List<String> names = new ArrayList<>(3);
+                    expect('{');
+                    do {
+                        switch (name(names)) {
+                            case "action":
+                                action = HoverEvent.Action.NAMES.value(string());
+                                if (action != HoverEvent.Action.SHOW_TEXT)
+                                    throw ReaderException.INSTANCE;
+                                break;
+                            case "contents": contents = component(depth + 1); break;
+                            case "value": value = component(depth + 1); break;
+                            default: throw ReaderException.INSTANCE;
+                        }
+                    } while (consume(','));
+                    expect('}');
+                    if (action == null)
+                        throw ReaderException.INSTANCE;
+                    Component text = contents != null ? contents : value;
+                    if (text != null)
+                        style.hoverEvent(HoverEvent.showText(text));
+                    break;
+                }
+                default:
+                    TextDecoration decoration = TextDecoration.NAMES.value(name);
+                    if (decoration == null)
+                        throw ReaderException.INSTANCE;
+                    if (literal("true"))
+                        style.decoration(decoration, TextDecoration.State.TRUE);
+                    else if (literal("false"))
+                        style.decoration(decoration, TextDecoration.State.FALSE);
+                    else
+                        throw ReaderException.INSTANCE;
+            }
+        }
+
+        private List<Component> components(int depth) {
+            expect('[');
+            if (consume(']'))
+                return Collections.emptyList();
+            List<Component> components = new ArrayList<>();
+            do {
+                components.add(component(depth + 1));
+            } while (consume(','));
+            expect(']');
+            return components;
+        }
+
+        /**
+         * Reads a field name and its colon, and rejects duplicates
+         */
+        private String name(List<String> seen) {
+            skipWhitespace();
+            String name = string();
+            if (seen.contains(name))
+                throw ReaderException.INSTANCE;
+            seen.add(name);
+            expect(':');
+            return name;
+        }
+
+        private boolean literal(String literal) {
+            skipWhitespace();
+            if (!input.startsWith(literal, pos))
+                return false;
+            pos += literal.length();
+            return true;
+        }
+
+        private String string() {
+            expect('"');
+            int start = pos;
+            StringBuilder unescaped = null;
+            while (pos < input.length()) {
+                char c = input.charAt(pos);
+                if (c == '"') {
+                    String value = unescaped == null
+                            ? input.substring(start, pos)
+                            : unescaped.append(input, start, pos).toString();
+                    pos++;
+                    return value;
+                }
+                if (c < 0x20)
+                    throw ReaderException.INSTANCE;
+                if (c != '\\') {
+                    pos++;
+                    continue;
+                }
+                if (unescaped == null)
+                    unescaped = new StringBuilder();
+                unescaped.append(input, start, pos);
+                if (++pos == input.length())
+                    throw ReaderException.INSTANCE;
+                char escaped = input.charAt(pos++);
+                switch (escaped) {
+                    case '"': case '\\': case '/': unescaped.append(escaped); break;
+                    case 'b': unescaped.append('\b'); break;
+                    case 'f': unescaped.append('\f'); break;
+                    case 'n': unescaped.append('\n'); break;
+                    case 'r': unescaped.append('\r'); break;
+                    case 't': unescaped.append('\t'); break;
+                    case 'u':
+                        if (pos + 4 > input.length())
+                            throw ReaderException.INSTANCE;
+                        int value = 0;
+                        for (int end = pos + 4; pos < end; pos++) {
+                            int digit = Character.digit(input.charAt(pos), 16);
+                            if (digit == -1)
+                                throw ReaderException.INSTANCE;
+                            value = value << 4 | digit;
+                        }
+                        unescaped.append((char) value);
+                        break;
+                    default:
+                        throw ReaderException.INSTANCE;
+                }
+                start = pos;
+            }
+            throw ReaderException.INSTANCE;
+        }
+
+        private void skipWhitespace() {
+            while (pos < input.length()) {
+                char c = input.charAt(pos);
+                if (c != ' ' && c != '\t' && c != '\n' && c != '\r')
+                    return;
+                pos++;
+            }
+        }
+
+        private char peek() {
+            if (pos == input.length())
+                throw ReaderException.INSTANCE;
+            return input.charAt(pos);
+        }
+
+        private boolean consume(char c) {
+            skipWhitespace();
+            if (pos == input.length() || input.charAt(pos) != c)
+                return false;
+            pos++;
+            return true;
+        }
+
+        private void expect(char c) {
+            if (!consume(c))
+                throw ReaderException.INSTANCE;
+        }
+    }
+
+    private static Component[] samples() {
+        Component hover = Component.text("hover", TextColor.color(0x3fa9d2));
+        return new Component[]{
+                Component.empty(),
+                Component.text("plain"),
+                Component.text("Lore", NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false),
+                Component.text("Title", NamedTextColor.GOLD, TextDecoration.BOLD, TextDecoration.UNDERLINED)
+                        .decoration(TextDecoration.OBFUSCATED, false)
+                        .decoration(TextDecoration.STRIKETHROUGH, true),
+                Component.text("hex", TextColor.color(0x3fa9d2)),
+                Component.text("\"quoted\" \\ <b>&amp;='x'\n\t\r\b\f\u0001\u001f\u007f\u00e9\u2028\u2029\ud83d\ude00"),
+                Component.text()
+                        .append(Component.text("a", NamedTextColor.RED))
+                        .append(Component.translatable("item.minecraft.diamond", Component.text("arg")))
+                        .append(Component.keybind("key.jump").insertion("jump"))
+                        .append(Component.score("@p", "kills"))
+                        .append(Component.selector("@a", Component.text(", ")))
+                        .clickEvent(ClickEvent.runCommand("/help"))
+                        .hoverEvent(HoverEvent.showText(hover))
+                        .font(Key.key("uniform"))
+                        .build(),
+        };
+    }
+
+    private boolean selfTest() {
+        try {
+            for (Component sample : samples()) {
+                String expected = gson.serialize(sample);
+                if (!expected.equals(write(sample)))
+                    return false;
+                if (!gson.deserialize(expected).equals(read(expected)))
+                    return false;
+            }
+            for (String sample : new String[]{"\"plain\"", "[\"a\",{\"text\":\"b\",\"color\":\"bold\"}]",
+                    "{\"italic\":false,\"color\":\"gold\",\"text\":\"a\\/b\\u00e9\"}",
+                    " {\"extra\" : [\"x\"], \"text\":\"\",\"color\":\"#3fa9d2\"} "}) {
+                if (!gson.deserialize(sample).equals(read(sample)))
+                    return false;
+            }
+            return true;
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.util;
+
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * A read-only list of components over the raw lines a backend stores, such as
+ * JSON strings, legacy strings or NMS components.
+ * <p>
+ * Each line is only converted when it is first accessed, and the result is kept
+ * for later accesses. The raw lines are copied when the list is created, so later
+ * changes to the item do not affect it.
+ *
+ * @param <T> The raw line type
+ */
+public final class LazyComponentList<T> extends AbstractList<Component> implements RandomAccess {
+
+    private final Object[] raw;
+    private final Function<? super T, Component> decoder;
+    private final Component[] decoded;
+
+    private LazyComponentList(Object[] raw, Function<? super T, Component> decoder) {
+        this.raw = raw;
+        this.decoder = decoder;
+        this.decoded = new Component[raw.length];
+    }
+
+    /**
+     * Creates a lazy view over a snapshot of the given raw lines
+     *
+     * @param raw     Raw lines to convert
+     * @param decoder Function converting a single raw line
+     * @param <T>     The raw line type
+     * @return The lazy list
+     */
+    public static <T> @NotNull LazyComponentList<T> of(@NotNull List<? extends T> raw,
+                                                       @NotNull Function<? super T, Component> decoder) {
+        return new LazyComponentList<>(raw.toArray(), decoder);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public Component get(int index) {
+        Component component = decoded[index];
+        if (component == null) {
+            // components are immutable, so racing threads at most decode a line twice
+            component = decoder.apply((T) raw[index]);
+            decoded[index] = component;
+        }
+        return component;
+    }
+
+    @Override public int size() {
+        return raw.length;
+    }
+}
@@ -0,0 +1,376 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.util;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.serializer.ComponentSerializer;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A drop-in replacement for {@link LegacyComponentSerializer#legacySection()}
+ * that produces identical output with fewer allocations.
+ * <p>
+ * Serialization handles trees made only of text components, which covers
+ * everything but translatable, keybind, score and selector components. It
+ * mirrors Adventure's flattening directly, keeping the style stack in
+ * reused arrays and writing into a reused per-thread buffer.
+ * <p>
+ * Deserialization handles strings without section signs, and strings
+ * where all formatting codes come before the text, such as a gold, bold title.
+ * <p>
+ * Everything else goes to Adventure's serializer. Both directions are checked
+ * against it once when this class is initialized, and disabled if the results
+ * differ.
+ */
+public final class LegacySectionSerializer implements ComponentSerializer<Component, TextComponent, String> {
+
+    private static final LegacySectionSerializer INSTANCE = new LegacySectionSerializer();
+    private static final LegacyComponentSerializer ADVENTURE = LegacyComponentSerializer.legacySection();
+
+    private static final char SECTION = '\u00A7';
+
+    /**
+     * Named colors in the order of their legacy codes
+     */
+    private static final NamedTextColor[] COLORS = {
+            NamedTextColor.BLACK, NamedTextColor.DARK_BLUE, NamedTextColor.DARK_GREEN, NamedTextColor.DARK_AQUA,
+            NamedTextColor.DARK_RED, NamedTextColor.DARK_PURPLE, NamedTextColor.GOLD, NamedTextColor.GRAY,
+            NamedTextColor.DARK_GRAY, NamedTextColor.BLUE, NamedTextColor.GREEN, NamedTextColor.AQUA,
+            NamedTextColor.RED, NamedTextColor.LIGHT_PURPLE, NamedTextColor.YELLOW, NamedTextColor.WHITE
+    };
+    private static final String COLOR_CODES = "0123456789abcdef";
+
+    private static final TextDecoration[] DECORATIONS = TextDecoration.values();
+    private static final String DECORATION_CODES;
+
+    /**
+     * Marks a reset code in {@link Encoder#lastWritten}
+     */
+    private static final Object RESET = new Object();
+
+    /**
+     * Buffers larger than this are not kept for the next call
+     */
+    private static final int MAX_RETAINED_CAPACITY = 1024;
+
+    /**
+     * Adventure refuses trees deeper than this
+     */
+    private static final int MAX_DEPTH = 512;
+
+    private static final ThreadLocal<Encoder> ENCODER = ThreadLocal.withInitial(Encoder::new);
+
+    private static final boolean SUPPORTED;
+
+    static {
+        StringBuilder codes = new StringBuilder();
+        boolean supported = true;
+        for (TextDecoration decoration : DECORATIONS) {
+            switch (decoration) {
+                case OBFUSCATED: codes.append('k'); break;
+                case BOLD: codes.append('l'); break;
+                case STRIKETHROUGH: codes.append('m'); break;
+                case UNDERLINED: codes.append('n'); break;
+                case ITALIC: codes.append('o'); break;
+                default: supported = false;
+            }
+        }
+        DECORATION_CODES = codes.toString();
+        SUPPORTED = supported && selfTest();
+    }
+
+    private LegacySectionSerializer() {}
+
+    /**
+     * Returns the serializer
+     *
+     * @return The serializer
+     */
+    public static @NotNull LegacySectionSerializer legacySection() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns whether the fast paths are used on this server
+     *
+     * @return If the fast paths are supported
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    @Override public @NotNull String serialize(@NotNull Component component) {
+        if (SUPPORTED) {
+            String legacy = ENCODER.get().encode(component);
+            if (legacy != null)
+                return legacy;
+        }
+        return ADVENTURE.serialize(component);
+    }
+
+    @Override public @NotNull TextComponent deserialize(@NotNull String input) {
+        if (SUPPORTED) {
+            TextComponent component = decode(input);
+            if (component != null)
+                return component;
+        }
+        return ADVENTURE.deserialize(input);
+    }
+
+    /**
+     * Decodes strings whose formatting codes all come before the text.
+     * Like Adventure, codes are applied from the last one backwards, and
+     * stop at the first color or reset.
+     */
+    private static TextComponent decode(String input) {
+        // a section sign in the last position is never a code
+        int last = input.lastIndexOf(SECTION, input.length() - 2);
+        if (last == -1)
+            return Component.text(input);
+        int textStart = last + 2;
+        for (int i = 0; i < textStart; i += 2) {
+            if (input.charAt(i) != SECTION || formatIndex(input.charAt(i + 1)) == -1)
+                return null;
+        }
+        TextComponent.Builder builder = Component.text().content(input.substring(textStart));
+        for (int i = last; i >= 0; i -= 2) {
+            int format = formatIndex(input.charAt(i + 1));
+            if (format < COLORS.length) {
+                builder.color(COLORS[format]);
+                break;
+            } else if (format < COLORS.length + DECORATIONS.length) {
+                builder.decoration(DECORATIONS[format - COLORS.length], TextDecoration.State.TRUE);
+            } else {
+                break;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the index of the given code among the colors, then decorations,
+     * then reset, or -1 if it is not a code
+     */
+    private static int formatIndex(char code) {
+        int index = COLOR_CODES.indexOf(code);
+        if (index != -1)
+            return index;
+        index = DECORATION_CODES.indexOf(code);
+        if (index != -1)
+            return COLORS.length + index;
+        return code == 'r' ? COLORS.length + DECORATIONS.length : -1;
+    }
+
+    private static char colorCode(TextColor color) {
+        NamedTextColor named = NamedTextColor.nearestTo(color);
+        for (int i = 0; i < COLORS.length; i++) {
+            if (COLORS[i] == named)
+                return COLOR_CODES.charAt(i);
+        }
+        throw new IllegalArgumentException("Unknown color: " + named);
+    }
+
+    /**
+     * The state of one serialization, which mirrors Adventure's own: a stack of
+     * the styles pushed so far, and the style last written to the output.
+     * Like Adventure, the reset flag of a stack slot is only cleared once text
+     * is written with it, and survives the slot being reused.
+     */
+    private static final class Encoder {
+
+        private StringBuilder output = new StringBuilder(64);
+
+        private TextColor[] colors = new TextColor[8];
+        private int[] decorations = new int[8];
+        private boolean[] needsReset = new boolean[8];
+        private int head;
+
+        private TextColor writtenColor;
+        private int writtenDecorations;
+        private Object lastWritten;
+
+        String encode(Component component) {
+            output.setLength(0);
+            Arrays.fill(needsReset, false);
+            head = -1;
+            writtenColor = null;
+            writtenDecorations = 0;
+            lastWritten = null;
+            String legacy = flatten(component, 0) ? output.toString() : null;
+            if (output.capacity() > MAX_RETAINED_CAPACITY)
+                output = new StringBuilder(64);
+            return legacy;
+        }
+
+        private boolean flatten(Component component, int depth) {
+            if (component == Component.empty())
+                return true;
+            if (depth > MAX_DEPTH || !(component instanceof TextComponent))
+                return false;
+            pushStyle(component.style());
+            String content = ((TextComponent) component).content();
+            if (!content.isEmpty()) {
+                applyFormat(head);
+                output.append(content);
+            }
+            List<Component> children = component.children();
+            for (int i = 0, size = children.size(); i < size; i++) {
+                if (!flatten(children.get(i), depth + 1))
+                    return false;
+            }
+            head--;
+            return true;
+        }
+
+        private void pushStyle(Style style) {
+            int index = ++head;
+            if (index == colors.length) {
+                colors = Arrays.copyOf(colors, index * 2);
+                decorations = Arrays.copyOf(decorations, index * 2);
+                needsReset = Arrays.copyOf(needsReset, index * 2);
+            }
+            TextColor color = index > 0 ? colors[index - 1] : null;
+            int decorated = index > 0 ? decorations[index - 1] : 0;
+            if (style.color() != null)
+                color = style.color();
+            for (int i = 0; i < DECORATIONS.length; i++) {
+                int bit = 1 << i;
+                switch (style.decoration(DECORATIONS[i])) {
+                    case TRUE:
+                        decorated |= bit;
+                        break;
+                    case FALSE:
+                        if ((decorated & bit) != 0) {
+                            decorated &= ~bit;
+                            needsReset[index] = true;
+                        }
+                        break;
+                }
+            }
+            colors[index] = color;
+            decorations[index] = decorated;
+        }
+
+        private void applyFormat(int index) {
+            TextColor color = colors[index];
+            boolean colorChanged = color != writtenColor;
+            if (needsReset[index]) {
+                if (!colorChanged)
+                    append(RESET);
+                needsReset[index] = false;
+            }
+            int decorated = decorations[index];
+            if (colorChanged || lastWritten == RESET || (decorated & writtenDecorations) != writtenDecorations) {
+                applyFullFormat(color, decorated);
+                return;
+            }
+            for (int i = 0; i < DECORATIONS.length; i++) {
+                int bit = 1 << i;
+                if ((decorated & bit) != 0 && (writtenDecorations & bit) == 0) {
+                    writtenDecorations |= bit;
+                    append(DECORATIONS[i]);
+                }
+            }
+        }
+
+        private void applyFullFormat(TextColor color, int decorated) {
+            append(color != null ? color : RESET);
+            writtenColor = color;
+            for (int i = 0; i < DECORATIONS.length; i++) {
+                if ((decorated & (1 << i)) != 0)
+                    append(DECORATIONS[i]);
+            }
+            writtenDecorations = decorated;
+        }
+
+        private void append(Object format) {
+            if (lastWritten != format) {
+                char code;
+                if (format == RESET)
+                    code = 'r';
+                else if (format instanceof TextDecoration)
+                    code = DECORATION_CODES.charAt(((TextDecoration) format).ordinal());
+                else
+                    code = colorCode((TextColor) format);
+                output.append(SECTION).append(code);
+            }
+            lastWritten = format;
+        }
+    }
+
+    private static List<Component> samples() {
+        List<Component> samples = new ArrayList<>();
+        samples.add(Component.empty());
+        samples.add(Component.text("plain"));
+        samples.add(Component.text("Title", NamedTextColor.GOLD, TextDecoration.BOLD));
+        samples.add(Component.text("Lore", NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false));
+        samples.add(Component.text("hex", TextColor.color(0x3fa9d2)));
+        samples.add(Component.text()
+                .append(Component.text("a", NamedTextColor.RED, TextDecoration.BOLD))
+                .append(Component.text("b", NamedTextColor.RED))
+                .append(Component.text("c").decoration(TextDecoration.BOLD, false))
+                .append(Component.text(""))
+                .append(Component.text("d", TextColor.color(0x3fa9d2), TextDecoration.UNDERLINED))
+                .build());
+        samples.add(Component.text("outer ", NamedTextColor.GREEN, TextDecoration.ITALIC)
+                .append(Component.text("inner", NamedTextColor.GREEN, TextDecoration.BOLD)
+                        .decoration(TextDecoration.ITALIC, false)
+                        .append(Component.text(" deep").decoration(TextDecoration.BOLD, false)))
+                .append(Component.text(" tail")));
+        return samples;
+    }
+
+    private static boolean selfTest() {
+        try {
+            Encoder encoder = new Encoder();
+            for (Component sample : samples()) {
+                String expected = ADVENTURE.serialize(sample);
+                if (!expected.equals(encoder.encode(sample)))
+                    return false;
+                TextComponent decoded = decode(expected);
+                if (decoded != null && !decoded.equals(ADVENTURE.deserialize(expected)))
+                    return false;
+            }
+            for (String sample : new String[]{"", "plain", "\u00A76\u00A7lTitle", "\u00A7l\u00A76Title",
+                    "\u00A7o\u00A7rx", "\u00A7c", "end\u00A7"}) {
+                TextComponent decoded = decode(sample);
+                if (decoded != null && !decoded.equals(ADVENTURE.deserialize(sample)))
+                    return false;
+            }
+            return true;
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,432 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.util;
+
+import adventure4spigot.jfr.FlightEvents;
+import adventure4spigot.metrics.Metrics;
+import adventure4spigot.reflect.MethodCaller;
+import adventure4spigot.reflect.ReflectField;
+import lombok.SneakyThrows;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static adventure4spigot.reflect.ReflectField.fieldHandle;
+import static adventure4spigot.util.GameVersion.nmsClass;
+
+/**
+ * Converts Adventure components directly into NMS {@code IChatBaseComponent}s,
+ * without serializing them to JSON and parsing them back through
+ * {@code IChatBaseComponent.ChatSerializer}.
+ * <p>
+ * Only trees of {@link TextComponent}s styled with colors and decorations are
+ * converted, which covers nearly all display names and lore. Anything else
+ * (events, fonts, insertions, translatable components, ...) must go through
+ * JSON, and {@link #toNms(Component)} returns null for it.
+ * <p>
+ * Versions 1.13 - 1.15 use mutable {@code ChatModifier}s with legacy colors,
+ * while 1.16 uses immutable ones with hex colors. Newer versions do not have
+ * stable member names, and are not supported. The conversion is checked
+ * against the JSON path once when this class is initialized, and disabled if
+ * the results differ. The outcome is remembered by {@link ProbeCache}.
+ * <p>
+ * {@link #fromNms(Object)} does the reverse for the same kind of trees,
+ * reading text, style and siblings straight off the NMS objects.
+ */
+public final class NmsComponents {
+
+    private NmsComponents() {}
+
+    private static final boolean HEX_COLORS = GameVersion.supportsHexColors();
+
+    private static final Map<TextDecoration, MethodCaller> SET_DECORATION = new EnumMap<>(TextDecoration.class);
+    private static final Map<TextColor, Object> NAMED_COLORS = new HashMap<>();
+
+    private static final MethodHandle NEW_TEXT;
+    private static final MethodHandle NEW_STYLE;
+    private static final Object EMPTY_STYLE;
+    private static final MethodCaller SET_STYLE, ADD_SIBLING;
+    private static final MethodCaller SET_COLOR, HEX_COLOR;
+    private static final boolean SUPPORTED;
+
+    static {
+        MethodHandle newText = null, newStyle = null;
+        Object emptyStyle = null;
+        MethodCaller setStyle = null, addSibling = null, setColor = null, hexColor = null;
+        boolean supported;
+        try {
+            Class<?> component = nmsClass("IChatBaseComponent", "network.chat.IChatBaseComponent");
+            Class<?> text = nmsClass("ChatComponentText", "network.chat.ChatComponentText");
+            Class<?> modifier = nmsClass("ChatModifier", "network.chat.ChatModifier");
+            Class<?> format = nmsClass("EnumChatFormat", "EnumChatFormat");
+
+            newText = MethodHandles.lookup().unreflectConstructor(text.getConstructor(String.class))
+                    .asType(MethodType.methodType(Object.class, String.class));
+            setStyle = MethodCaller.wrap(text.getMethod("setChatModifier", modifier));
+            addSibling = MethodCaller.wrap(text.getMethod("addSibling", component));
+
+            SET_DECORATION.put(TextDecoration.OBFUSCATED, MethodCaller.wrap(modifier.getMethod("setRandom", Boolean.class)));
+            SET_DECORATION.put(TextDecoration.BOLD, MethodCaller.wrap(modifier.getMethod("setBold", Boolean.class)));
+            SET_DECORATION.put(TextDecoration.STRIKETHROUGH, MethodCaller.wrap(modifier.getMethod("setStrikethrough", Boolean.class)));
+            SET_DECORATION.put(TextDecoration.UNDERLINED, MethodCaller.wrap(modifier.getMethod("setUnderline", Boolean.class)));
+            SET_DECORATION.put(TextDecoration.ITALIC, MethodCaller.wrap(modifier.getMethod("setItalic", Boolean.class)));
+
+            MethodCaller fromFormat = null;
+            if (HEX_COLORS) {
+                // 1.16: ChatModifiers are immutable, so the empty one of a new component can be shared
+                Class<?> hex = nmsClass("ChatHexColor", "network.chat.ChatHexColor");
+                setColor = MethodCaller.wrap(modifier.getMethod("setColor", hex));
+                hexColor = MethodCaller.wrap(hex.getMethod("a", int.class));
+                fromFormat = MethodCaller.wrap(hex.getMethod("a", format));
+                emptyStyle = MethodCaller.wrap(text.getMethod("getChatModifier")).call((Object) newText.invokeExact(""));
+            } else {
+                // 1.13 - 1.15: ChatModifiers are mutable, and are linked to their parents
+                setColor = MethodCaller.wrap(modifier.getMethod("setColor", format));
+                newStyle = MethodHandles.lookup().unreflectConstructor(modifier.getConstructor())
+                        .asType(MethodType.methodType(Object.class));
+            }
+            for (NamedTextColor color : NamedTextColor.NAMES.values()) {
+                Object value = enumConstant(format, NamedTextColor.NAMES.key(color).toUpperCase(Locale.ROOT));
+                NAMED_COLORS.put(color, fromFormat == null ? value : fromFormat.call(null, value));
+            }
+            supported = true;
+        } catch (Throwable t) {
+            supported = false;
+        }
+        NEW_TEXT = newText;
+        NEW_STYLE = newStyle;
+        EMPTY_STYLE = emptyStyle;
+        SET_STYLE = setStyle;
+        ADD_SIBLING = addSibling;
+        SET_COLOR = setColor;
+        HEX_COLOR = hexColor;
+        SUPPORTED = supported && ProbeCache.getBoolean("nms.write.verified", NmsComponents::selfTest);
+    }
+
+    /**
+     * Returns whether components can be converted directly on this version
+     *
+     * @return If direct conversions are supported
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    /**
+     * Converts the given component into an {@code IChatBaseComponent}
+     *
+     * @param component Component to convert
+     * @return The NMS component, or null if the component (or this version)
+     * is not supported and must be converted through JSON instead.
+     */
+    public static @Nullable Object toNms(@NotNull Component component) {
+        if (!SUPPORTED || !isSimple(component))
+            return null;
+        long start = Metrics.start();
+        Object nms = FlightEvents.toNms(component, c -> build((TextComponent) c));
+        Metrics.recordCall("nms.toNms", start);
+        return nms;
+    }
+
+    /**
+     * Returns whether NMS components can be read directly on this version
+     *
+     * @return If direct reads are supported
+     */
+    public static boolean isReadSupported() {
+        return Reader.SUPPORTED;
+    }
+
+    /**
+     * Converts the given {@code IChatBaseComponent} into an Adventure component
+     *
+     * @param component NMS component to convert
+     * @return The Adventure component, or null if the component (or this version)
+     * is not supported and must be converted through JSON instead.
+     */
+    public static @Nullable Component fromNms(@NotNull Object component) {
+        if (!Reader.SUPPORTED)
+            return null;
+        long start = Metrics.start();
+        Component adventure = FlightEvents.fromNms(component, Reader::read);
+        Metrics.recordCall("nms.fromNms", start);
+        return adventure;
+    }
+
+    private static boolean isSimple(Component component) {
+        if (!(component instanceof TextComponent))
+            return false;
+        Style style = component.style();
+        if (style.clickEvent() != null || style.hoverEvent() != null
+                || style.insertion() != null || style.font() != null)
+            return false;
+        List<Component> children = component.children();
+        for (int i = 0, size = children.size(); i < size; i++) {
+            if (!isSimple(children.get(i)))
+                return false;
+        }
+        return true;
+    }
+
+    @SneakyThrows
+    private static Object build(TextComponent component) {
+        Object nms = (Object) NEW_TEXT.invokeExact(component.content());
+        Style style = component.style();
+        if (!style.isEmpty())
+            SET_STYLE.call(nms, toNms(style));
+        List<Component> children = component.children();
+        for (int i = 0, size = children.size(); i < size; i++) {
+            ADD_SIBLING.call(nms, build((TextComponent) children.get(i)));
+        }
+        return nms;
+    }
+
+    @SneakyThrows
+    private static Object toNms(Style style) {
+        Object modifier = HEX_COLORS ? EMPTY_STYLE : (Object) NEW_STYLE.invokeExact();
+        TextColor color = style.color();
+        if (color != null)
+            modifier = SET_COLOR.call(modifier, toNms(color));
+        for (Map.Entry<TextDecoration, MethodCaller> decoration : SET_DECORATION.entrySet()) {
+            TextDecoration.State state = style.decoration(decoration.getKey());
+            if (state != TextDecoration.State.NOT_SET)
+                modifier = decoration.getValue().call(modifier, state == TextDecoration.State.TRUE);
+        }
+        return modifier;
+    }
+
+    private static Object toNms(TextColor color) {
+        if (color instanceof NamedTextColor)
+            return NAMED_COLORS.get(color);
+        if (HEX_COLORS)
+            return HEX_COLOR.call(null, color.value());
+        // the same downsampling GsonComponentSerializer.colorDownsamplingGson() does
+        return NAMED_COLORS.get(NamedTextColor.nearestTo(color));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object enumConstant(Class<?> type, String name) {
+        return Enum.valueOf((Class) type, name);
+    }
+
+    /**
+     * Converts a few components both directly and through JSON, and
+     * checks that the results are equal
+     *
+     * @return If the direct conversion can be trusted
+     */
+    private static boolean selfTest() {
+        try {
+            return checkAgainstJson();
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    private static boolean checkAgainstJson() throws ReflectiveOperationException {
+        Class<?> serializer = nmsClass("IChatBaseComponent$ChatSerializer", "network.chat.IChatBaseComponent$ChatSerializer");
+        MethodCaller parse = MethodCaller.wrap(serializer.getDeclaredMethod("a", String.class));
+        GsonComponentSerializer gson = HEX_COLORS ? GsonComponentSerializer.gson() : GsonComponentSerializer.colorDownsamplingGson();
+        for (Component sample : samples()) {
+            Object expected = parse.call(null, gson.serialize(sample));
+            if (!expected.equals(build((TextComponent) sample)))
+                return false;
+        }
+        return true;
+    }
+    private static Component[] samples() {
+        return new Component[]{
+                Component.text("plain"),
+                Component.text("", NamedTextColor.GOLD),
+                Component.text("styled", TextColor.color(0x12AB34))
+                        .decoration(TextDecoration.ITALIC, false)
+                        .decoration(TextDecoration.BOLD, true),
+                Component.text()
+                        .content("parent ")
+                        .color(NamedTextColor.GRAY)
+                        .decorate(TextDecoration.UNDERLINED, TextDecoration.STRIKETHROUGH, TextDecoration.OBFUSCATED)
+                        .append(Component.text("child", NamedTextColor.RED))
+                        .append(Component.text(" sibling").append(Component.text("nested")))
+                        .build()
+        };
+    }
+
+    /**
+     * Reads plain NMS text components. ChatModifier fields do not have stable
+     * names across versions, so they are found by type, and each decoration is
+     * matched to its field by applying its setter to an empty modifier.
+     */
+    private static final class Reader {
+
+        private static final Class<?> TEXT;
+        private static final ReflectField<Object> CONTENT;
+        private static final MethodCaller GET_STYLE, GET_SIBLINGS;
+        private static final ReflectField<Object> COLOR, HEX_VALUE;
+        private static final Map<TextDecoration, ReflectField<Object>> DECORATIONS = new EnumMap<>(TextDecoration.class);
+        private static final List<ReflectField<Object>> UNSUPPORTED = new ArrayList<>();
+        private static final Map<Object, NamedTextColor> FORMAT_COLORS = new HashMap<>();
+        private static final boolean SUPPORTED;
+
+        static {
+            Class<?> text = null;
+            ReflectField<Object> content = null, color = null, hexValue = null;
+            MethodCaller getStyle = null, getSiblings = null;
+            boolean supported;
+            try {
+                Class<?> component = nmsClass("IChatBaseComponent", "network.chat.IChatBaseComponent");
+                Class<?> modifier = nmsClass("ChatModifier", "network.chat.ChatModifier");
+                Class<?> format = nmsClass("EnumChatFormat", "EnumChatFormat");
+                Class<?> colorType = HEX_COLORS ? nmsClass("ChatHexColor", "network.chat.ChatHexColor") : format;
+                text = nmsClass("ChatComponentText", "network.chat.ChatComponentText");
+
+                content = fieldHandle(text, instanceField(text, String.class).getName());
+                getStyle = MethodCaller.wrap(component.getMethod("getChatModifier"));
+                getSiblings = MethodCaller.wrap(component.getMethod("getSiblings"));
+                color = fieldHandle(modifier, instanceField(modifier, colorType).getName());
+                if (HEX_COLORS)
+                    hexValue = fieldHandle(colorType, instanceField(colorType, int.class).getName());
+                else {
+                    for (NamedTextColor named : NamedTextColor.NAMES.values())
+                        FORMAT_COLORS.put(NAMED_COLORS.get(named), named);
+                }
+
+                List<ReflectField<Object>> booleans = new ArrayList<>();
+                for (Field field : modifier.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.getType() == modifier
+                            || field.getType() == colorType)
+                        continue;
+                    ReflectField<Object> handle = fieldHandle(modifier, field.getName());
+                    if (field.getType() == Boolean.class)
+                        booleans.add(handle);
+                    else
+                        UNSUPPORTED.add(handle);
+                }
+                Object empty = HEX_COLORS ? EMPTY_STYLE : (Object) NEW_STYLE.invokeExact();
+                for (Map.Entry<TextDecoration, MethodCaller> setter : SET_DECORATION.entrySet()) {
+                    Object decorated = setter.getValue().call(HEX_COLORS ? empty : (Object) NEW_STYLE.invokeExact(), true);
+                    for (ReflectField<Object> handle : booleans) {
+                        if (handle.get(decorated) != null && handle.get(empty) == null)
+                            DECORATIONS.put(setter.getKey(), handle);
+                    }
+                }
+                supported = DECORATIONS.size() == TextDecoration.values().length && booleans.size() == DECORATIONS.size();
+            } catch (Throwable t) {
+                supported = false;
+            }
+            TEXT = text;
+            CONTENT = content;
+            GET_STYLE = getStyle;
+            GET_SIBLINGS = getSiblings;
+            COLOR = color;
+            HEX_VALUE = hexValue;
+            SUPPORTED = NmsComponents.SUPPORTED && supported && ProbeCache.getBoolean("nms.read.verified", Reader::selfTest);
+        }
+
+        private static Field instanceField(Class<?> owner, Class<?> type) throws NoSuchFieldException {
+            Field found = null;
+            for (Field field : owner.getDeclaredFields()) {
+                if (field.getType() != type || Modifier.isStatic(field.getModifiers()))
+                    continue;
+                if (found != null)
+                    throw new NoSuchFieldException("More than one " + type.getSimpleName() + " field in " + owner.getName());
+                found = field;
+            }
+            if (found == null)
+                throw new NoSuchFieldException("No " + type.getSimpleName() + " field in " + owner.getName());
+            return found;
+        }
+
+        private static @Nullable Component read(Object component) {
+            if (component.getClass() != TEXT)
+                return null;
+            Object modifier = GET_STYLE.call(component);
+            for (int i = 0, size = UNSUPPORTED.size(); i < size; i++) {
+                if (UNSUPPORTED.get(i).get(modifier) != null)
+                    return null;
+            }
+            Style.Builder style = Style.style();
+            Object color = (Object) COLOR.get(modifier);
+            if (color != null) {
+                TextColor textColor = HEX_COLORS ? TextColor.color((int) HEX_VALUE.get(color)) : FORMAT_COLORS.get(color);
+                if (textColor == null)
+                    return null;
+                style.color(textColor);
+            }
+            for (Map.Entry<TextDecoration, ReflectField<Object>> decoration : DECORATIONS.entrySet()) {
+                Boolean value = (Boolean) decoration.getValue().get(modifier);
+                if (value != null)
+                    style.decoration(decoration.getKey(), value);
+            }
+            List<?> siblings = (List<?>) GET_SIBLINGS.call(component);
+            List<Component> children = new ArrayList<>(siblings.size());
+            for (int i = 0, size = siblings.size(); i < size; i++) {
+                Component child = read(siblings.get(i));
+                if (child == null)
+                    return null;
+                children.add(child);
+            }
+            return Component.text()
+                    .content((String) CONTENT.get(component))
+                    .style(style.build())
+                    .append(children)
+                    .build();
+        }
+
+        private static boolean selfTest() {
+            try {
+                Class<?> component = nmsClass("IChatBaseComponent", "network.chat.IChatBaseComponent");
+                Class<?> serializer = nmsClass("IChatBaseComponent$ChatSerializer", "network.chat.IChatBaseComponent$ChatSerializer");
+                MethodCaller write = MethodCaller.wrap(serializer.getDeclaredMethod("a", component));
+                GsonComponentSerializer gson = HEX_COLORS ? GsonComponentSerializer.gson() : GsonComponentSerializer.colorDownsamplingGson();
+                for (Component sample : samples()) {
+                    Object nms = build((TextComponent) sample);
+                    Component expected = gson.deserialize((String) write.call(null, nms));
+                    if (!expected.equals(read(nms)))
+                        return false;
+                }
+                return true;
+            } catch (Throwable t) {
+                return false;
+            }
+        }
+    }
+}
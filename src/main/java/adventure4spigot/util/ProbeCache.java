@@ -0,0 +1,199 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.util;
+
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the results of capability probes, such as the chosen backends and
+ * the outcome of self-checks, across server restarts.
+ * <p>
+ * Results are stored in a small properties file, and are only reused while the
+ * server version stays the same. Before {@link #load(File)} is called, and if
+ * loading fails, every lookup simply runs its probe. Cached results are only
+ * used after the members they depend on resolved successfully, so a stale
+ * entry at worst costs a full probe.
+ */
+public final class ProbeCache {
+
+    private ProbeCache() {}
+
+    /**
+     * Changed whenever the meaning of stored probes changes, to discard old files
+     */
+    private static final String FORMAT = "1";
+
+    private static final String SERVER_KEY = "server";
+    private static final String FORMAT_KEY = "format";
+
+    private static final Properties PROBES = new Properties();
+
+    private static volatile @Nullable File file;
+    private static volatile boolean dirty;
+    private static volatile boolean reused;
+
+    /**
+     * Loads the probe results stored in the given file, if they were recorded
+     * on this exact server version
+     *
+     * @param file File to load from and save to
+     */
+    public static synchronized void load(@NotNull File file) {
+        ProbeCache.file = file;
+        PROBES.clear();
+        if (file.isFile()) {
+            try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                PROBES.load(reader);
+            } catch (IOException | IllegalArgumentException e) {
+                PROBES.clear();
+            }
+        }
+        String server = serverVersion();
+        if (!server.equals(PROBES.getProperty(SERVER_KEY)) || !FORMAT.equals(PROBES.getProperty(FORMAT_KEY))) {
+            PROBES.clear();
+            PROBES.setProperty(SERVER_KEY, server);
+            PROBES.setProperty(FORMAT_KEY, FORMAT);
+            dirty = true;
+        } else {
+            dirty = false;
+        }
+    }
+
+    /**
+     * Saves the probe results to the loaded file, if any of them changed
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public static synchronized void save() throws IOException {
+        File file = ProbeCache.file;
+        if (file == null || !dirty)
+            return;
+        File parent = file.getParentFile();
+        if (parent != null)
+            Files.createDirectories(parent.toPath());
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            PROBES.store(writer, "adventure4spigot capability probes. Safe to delete");
+        }
+        dirty = false;
+    }
+
+    /**
+     * Returns whether probe results were loaded from a file
+     *
+     * @return If the cache is loaded
+     */
+    public static boolean isLoaded() {
+        return file != null;
+    }
+
+    /**
+     * Returns whether any stored probe result has been reused since loading
+     *
+     * @return If stored results were used
+     */
+    public static boolean isReused() {
+        return reused;
+    }
+
+    /**
+     * Returns the stored result of the given probe, or runs and stores it
+     *
+     * @param key   Key of the probe
+     * @param probe Function running the probe
+     * @return The probe result
+     */
+    public static @NotNull String get(@NotNull String key, @NotNull Supplier<String> probe) {
+        String value = get(key);
+        if (value != null)
+            return value;
+        value = probe.get();
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Returns the stored result of the given boolean probe, or runs and stores it
+     *
+     * @param key   Key of the probe
+     * @param probe Function running the probe
+     * @return The probe result
+     */
+    public static boolean getBoolean(@NotNull String key, @NotNull BooleanSupplier probe) {
+        return Boolean.parseBoolean(get(key, () -> String.valueOf(probe.getAsBoolean())));
+    }
+
+    /**
+     * Returns the stored result of the given probe
+     *
+     * @param key Key of the probe
+     * @return The stored result, or null if there is none
+     */
+    public static @Nullable String get(@NotNull String key) {
+        if (file == null)
+            return null;
+        String value = PROBES.getProperty(key);
+        if (value != null)
+            reused = true;
+        return value;
+    }
+
+    /**
+     * Stores the result of the given probe
+     *
+     * @param key   Key of the probe
+     * @param value The probe result
+     */
+    public static void put(@NotNull String key, @NotNull String value) {
+        if (file == null)
+            return;
+        if (!value.equals(PROBES.setProperty(key, value)))
+            dirty = true;
+    }
+
+    /**
+     * Removes a stored result that turned out to be invalid
+     *
+     * @param key Key of the probe
+     */
+    public static void invalidate(@NotNull String key) {
+        if (PROBES.remove(key) != null)
+            dirty = true;
+    }
+
+    private static String serverVersion() {
+        return Bukkit.getVersion() + " " + Bukkit.getBukkitVersion();
+    }
+}
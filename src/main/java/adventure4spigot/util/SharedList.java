@@ -0,0 +1,97 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A list that reads from an array shared with other lists, and copies it into
+ * its own list the first time it is modified.
+ * <p>
+ * This allows handing the same converted lore to many item metas, each through
+ * its own cheap wrapper, without one meta's changes leaking into the others.
+ * Like {@link ArrayList}, it is not thread-safe.
+ *
+ * @param <E> The element type
+ */
+public final class SharedList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final Object[] shared;
+    private List<E> own;
+
+    private SharedList(Object[] shared) {
+        this.shared = shared;
+    }
+
+    /**
+     * Creates a new list that reads from the given array. The array must not
+     * be modified afterwards.
+     *
+     * @param shared The shared elements
+     * @param <E>    The element type
+     * @return The list
+     */
+    public static <E> @NotNull SharedList<E> of(@NotNull Object[] shared) {
+        return new SharedList<>(shared);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public E get(int index) {
+        if (own != null)
+            return own.get(index);
+        return (E) shared[index];
+    }
+
+    @Override public int size() {
+        return own != null ? own.size() : shared.length;
+    }
+
+    @Override public E set(int index, E element) {
+        return own().set(index, element);
+    }
+
+    @Override public void add(int index, E element) {
+        own().add(index, element);
+        modCount++;
+    }
+
+    @Override public E remove(int index) {
+        E removed = own().remove(index);
+        modCount++;
+        return removed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<E> own() {
+        if (own == null)
+            own = new ArrayList<>((List<E>) Arrays.asList(shared));
+        return own;
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.util;
+
+import com.google.common.collect.MapMaker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the last value written to each target, such as the display name
+ * of an item meta or an objective, together with the raw value that the write
+ * stored.
+ * <p>
+ * A write is unchanged if it is equal to the last value written, and the
+ * target still holds the raw value that write stored, so that changes made
+ * through anything other than this library are always noticed. Raw values are
+ * compared by content: lists, such as lore, are copied when a write is
+ * recorded, since Bukkit refills the same list when lore is set through it.
+ * Targets are weakly referenced and compared by identity.
+ * <p>
+ * The same records also serve as a read-through mirror: as long as the target
+ * still holds the raw value a write stored, reading it back can return the
+ * written value instead of converting the raw value again. This is only done
+ * for backends that store values losslessly, see
+ * {@link adventure4spigot.item.RawItemAccess#isLossless()}.
+ * <p>
+ * Tracking is disabled by default, see {@link #setSuppressionEnabled(boolean)}
+ * and {@link #setMirrorEnabled(boolean)}.
+ */
+public final class WriteTracker {
+
+    private static final List<WriteTracker> TRACKERS = new CopyOnWriteArrayList<>();
+
+    private static volatile boolean suppressionEnabled = false;
+    private static volatile boolean mirrorEnabled = false;
+
+    private final String name;
+    private final ConcurrentMap<Object, Written> written = new MapMaker().weakKeys().makeMap();
+    private final LongAdder suppressed = new LongAdder();
+    private final LongAdder mirrorHits = new LongAdder();
+
+    private WriteTracker(@NotNull String name) {
+        this.name = name;
+    }
+
+    /**
+     * Creates and registers a new write tracker
+     *
+     * @param name Name of the tracker, used to report its counters
+     * @return The tracker
+     */
+    public static @NotNull WriteTracker create(@NotNull String name) {
+        WriteTracker tracker = new WriteTracker(name);
+        TRACKERS.add(tracker);
+        return tracker;
+    }
+
+    /**
+     * Returns whether writes are tracked at all
+     *
+     * @return If tracking is enabled
+     */
+    public static boolean isTracking() {
+        return suppressionEnabled || mirrorEnabled;
+    }
+
+    /**
+     * Returns whether reads may be answered from the tracked writes
+     *
+     * @return If the mirror is enabled
+     */
+    public static boolean isMirrorEnabled() {
+        return mirrorEnabled;
+    }
+
+    /**
+     * Checks whether writing the given value would change nothing, and
+     * counts it as a suppressed write if so
+     *
+     * @param target The written target
+     * @param value  The value about to be written
+     * @param raw    The raw value the target currently holds
+     * @return If the write can be skipped
+     */
+    public boolean isUnchanged(@NotNull Object target, @Nullable Object value, @Nullable Object raw) {
+        if (!suppressionEnabled || value == null)
+            return false;
+        Written last = written.get(target);
+        if (last == null || !last.holds(raw))
+            return false;
+        if (value != last.value && !value.equals(last.value))
+            return false;
+        suppressed.increment();
+        return true;
+    }
+
+    /**
+     * Returns the value last written to the given target, if the target
+     * still holds the raw value that write stored
+     *
+     * @param target The target to read
+     * @param raw    The raw value the target currently holds
+     * @return The written value, or null if it must be converted from the
+     * raw value instead
+     */
+    public @Nullable Object lookup(@NotNull Object target, @Nullable Object raw) {
+        if (!mirrorEnabled || raw == null)
+            return null;
+        Written last = written.get(target);
+        if (last == null || !last.holds(raw))
+            return null;
+        mirrorHits.increment();
+        return last.value;
+    }
+
+    /**
+     * Records a write to the given target
+     *
+     * @param target The written target
+     * @param value  The written value. Its copy must not change afterwards
+     * @param raw    The raw value the write stored
+     */
+    public void record(@NotNull Object target, @Nullable Object value, @Nullable Object raw) {
+        if (!isTracking())
+            return;
+        if (value == null)
+            written.remove(target);
+        else
+            written.put(target, new Written(value, raw));
+    }
+
+    /**
+     * Returns the number of writes this tracker suppressed
+     *
+     * @return The number of suppressed writes
+     */
+    public long getSuppressedWrites() {
+        return suppressed.sum();
+    }
+
+    /**
+     * Returns the number of reads answered from the tracked writes
+     *
+     * @return The number of mirror hits
+     */
+    public long getMirrorHits() {
+        return mirrorHits.sum();
+    }
+
+    /**
+     * Returns the name of this tracker
+     *
+     * @return The tracker name
+     */
+    public @NotNull String getName() {
+        return name;
+    }
+
+    /**
+     * Sets whether unchanged writes are skipped. Disabling it forgets
+     * all tracked writes, unless the mirror is still enabled.
+     *
+     * @param enabled Whether to skip unchanged writes
+     */
+    public static void setSuppressionEnabled(boolean enabled) {
+        suppressionEnabled = enabled;
+        if (!isTracking())
+            forgetAll();
+    }
+
+    /**
+     * Returns whether unchanged writes are skipped
+     *
+     * @return If write suppression is enabled
+     */
+    public static boolean isSuppressionEnabled() {
+        return suppressionEnabled;
+    }
+
+    /**
+     * Sets whether reads of display names, lore and objective titles return the
+     * value last written through this library, while the raw value it stored is
+     * unchanged. Disabling it forgets all tracked writes, unless suppression
+     * is still enabled.
+     *
+     * @param enabled Whether to answer reads from the tracked writes
+     */
+    public static void setMirrorEnabled(boolean enabled) {
+        mirrorEnabled = enabled;
+        if (!isTracking())
+            forgetAll();
+    }
+
+    /**
+     * Returns the number of mirror hits of every registered tracker
+     *
+     * @return An immutable map of tracker names to their counts
+     */
+    public static @NotNull Map<String, Long> allMirrorHits() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (WriteTracker tracker : TRACKERS) {
+            counts.put(tracker.name, tracker.getMirrorHits());
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Returns the number of suppressed writes of every registered tracker
+     *
+     * @return An immutable map of tracker names to their counts
+     */
+    public static @NotNull Map<String, Long> allSuppressedWrites() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (WriteTracker tracker : TRACKERS) {
+            counts.put(tracker.name, tracker.getSuppressedWrites());
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Forgets the tracked writes of every registered tracker
+     */
+    public static void forgetAll() {
+        for (WriteTracker tracker : TRACKERS) {
+            tracker.written.clear();
+        }
+    }
+
+    @Override public String toString() {
+        return "WriteTracker(" + name + ")";
+    }
+
+    private static final class Written {
+
+        private final Object value;
+        private final @Nullable Object raw;
+
+        Written(Object value, @Nullable Object raw) {
+            this.value = value;
+            this.raw = raw instanceof List ? new ArrayList<>((List<?>) raw) : raw;
+        }
+
+        /**
+         * Returns whether the given raw value still matches the one this
+         * write stored
+         */
+        boolean holds(@Nullable Object raw) {
+            return Objects.equals(this.raw, raw);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.jfr;
+
+import adventure4spigot.item.AdventureItem;
+import adventure4spigot.scoreboard.AdventureScoreboard;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.ComponentSerializer;
+
+import java.util.function.Function;
+
+import static adventure4spigot.jfr.FlightEvents.describe;
+import static adventure4spigot.jfr.FlightEvents.size;
+
+/**
+ * Emits the Flight Recorder events for {@link FlightEvents}. This class is
+ * compiled for Java 11, and is only loaded once {@code jdk.jfr} is known
+ * to be present.
+ */
+final class EventRecorder implements FlightEvents.Recorder {
+
+    @Override public AdventureItem wrap(AdventureItem item, String backend) {
+        return new RecordedItem(item, backend);
+    }
+
+    @Override public AdventureScoreboard wrap(AdventureScoreboard scoreboard, String backend) {
+        return new RecordedScoreboard(scoreboard, backend);
+    }
+
+    @Override public AdventureItem unwrap(AdventureItem item) {
+        return item instanceof RecordedItem ? ((RecordedItem) item).delegate : item;
+    }
+
+    @Override public AdventureScoreboard unwrap(AdventureScoreboard scoreboard) {
+        return scoreboard instanceof RecordedScoreboard ? ((RecordedScoreboard) scoreboard).delegate : scoreboard;
+    }
+
+    @Override public String serialize(String backend, ComponentSerializer<Component, ?, String> serializer, Component component) {
+        ComponentSerializeEvent event = new ComponentSerializeEvent();
+        event.begin();
+        String json = serializer.serialize(component);
+        event.end();
+        if (event.shouldCommit()) {
+            event.backend = backend;
+            event.operation = "serialize";
+            event.componentSize = size(component);
+            event.component = describe(component);
+            event.jsonLength = json.length();
+            event.commit();
+        }
+        return json;
+    }
+
+    @Override public Object toNms(Component component, Function<Component, Object> conversion) {
+        NmsComponentConvertEvent event = new NmsComponentConvertEvent();
+        event.begin();
+        Object nms = conversion.apply(component);
+        event.end();
+        if (event.shouldCommit()) {
+            event.backend = "NmsComponents";
+            event.operation = "toNms";
+            event.componentSize = size(component);
+            event.component = describe(component);
+            event.commit();
+        }
+        return nms;
+    }
+
+    @Override public Component fromNms(Object component, Function<Object, Component> conversion) {
+        NmsComponentConvertEvent event = new NmsComponentConvertEvent();
+        event.begin();
+        Component adventure = conversion.apply(component);
+        event.end();
+        if (event.shouldCommit()) {
+            event.backend = "NmsComponents";
+            event.operation = "fromNms";
+            event.componentSize = size(adventure);
+            event.component = describe(adventure);
+            event.commit();
+        }
+        return adventure;
+    }
+}
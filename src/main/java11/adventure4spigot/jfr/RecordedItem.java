@@ -0,0 +1,134 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.jfr;
+
+import adventure4spigot.item.AdventureItem;
+import net.kyori.adventure.text.Component;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.List;
+
+import static adventure4spigot.jfr.FlightEvents.describe;
+import static adventure4spigot.jfr.FlightEvents.size;
+
+/**
+ * Records an {@code ItemMetaWrite} event for every slow write of an
+ * {@link AdventureItem} backend
+ */
+final class RecordedItem implements AdventureItem {
+
+    final AdventureItem delegate;
+    private final String backend;
+
+    RecordedItem(AdventureItem delegate, String backend) {
+        this.delegate = delegate;
+        this.backend = backend;
+    }
+
+    @Override public Component getDisplayName(ItemMeta meta) {
+        return delegate.getDisplayName(meta);
+    }
+
+    @Override public void setDisplayName(ItemMeta meta, Component displayName) {
+        ItemMetaWriteEvent event = new ItemMetaWriteEvent();
+        event.begin();
+        delegate.setDisplayName(meta, displayName);
+        commit(event, "setDisplayName", displayName);
+    }
+
+    @Override public List<Component> getLore(ItemMeta meta) {
+        return delegate.getLore(meta);
+    }
+
+    @Override public void setLore(ItemMeta meta, List<Component> lore) {
+        ItemMetaWriteEvent event = new ItemMetaWriteEvent();
+        event.begin();
+        delegate.setLore(meta, lore);
+        commit(event, "setLore", lore);
+    }
+
+    @Override public List<Component> getLazyLore(ItemMeta meta) {
+        return delegate.getLazyLore(meta);
+    }
+
+    @Override public Object toNative(Component component) {
+        return delegate.toNative(component);
+    }
+
+    @Override public void setNativeDisplayName(ItemMeta meta, Object displayName) {
+        ItemMetaWriteEvent event = new ItemMetaWriteEvent();
+        event.begin();
+        delegate.setNativeDisplayName(meta, displayName);
+        commit(event, "setNativeDisplayName", (Component) null);
+    }
+
+    @Override public void setNativeLore(ItemMeta meta, List<?> lore) {
+        ItemMetaWriteEvent event = new ItemMetaWriteEvent();
+        event.begin();
+        delegate.setNativeLore(meta, lore);
+        commit(event, "setNativeLore", (Component) null);
+    }
+
+    @Override public void setDisplayName(ItemStack item, Component displayName) {
+        ItemMetaWriteEvent event = new ItemMetaWriteEvent();
+        event.begin();
+        delegate.setDisplayName(item, displayName);
+        commit(event, "setItemDisplayName", displayName);
+    }
+
+    @Override public void setLore(ItemStack item, List<Component> lore) {
+        ItemMetaWriteEvent event = new ItemMetaWriteEvent();
+        event.begin();
+        delegate.setLore(item, lore);
+        commit(event, "setItemLore", lore);
+    }
+
+    // the size and text are only computed for events that are committed
+    private void commit(ItemMetaWriteEvent event, String operation, Component component) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.backend = backend;
+            event.operation = operation;
+            event.componentSize = size(component);
+            event.component = describe(component);
+            event.commit();
+        }
+    }
+
+    private void commit(ItemMetaWriteEvent event, String operation, List<Component> lore) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.backend = backend;
+            event.operation = operation;
+            event.componentSize = size(lore);
+            event.component = describe(lore);
+            event.commit();
+        }
+    }
+
+    @Override public String toString() {
+        return "RecordedItem(" + delegate + ")";
+    }
+}
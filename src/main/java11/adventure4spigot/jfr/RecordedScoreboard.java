@@ -0,0 +1,119 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.jfr;
+
+import adventure4spigot.scoreboard.AdventureScoreboard;
+import net.kyori.adventure.text.Component;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+import org.jetbrains.annotations.NotNull;
+
+import static adventure4spigot.jfr.FlightEvents.describe;
+import static adventure4spigot.jfr.FlightEvents.size;
+
+/**
+ * Records an {@code ObjectiveWrite} event for every slow write of an
+ * {@link AdventureScoreboard} backend
+ */
+final class RecordedScoreboard implements AdventureScoreboard {
+
+    final AdventureScoreboard delegate;
+    private final String backend;
+
+    RecordedScoreboard(AdventureScoreboard delegate, String backend) {
+        this.delegate = delegate;
+        this.backend = backend;
+    }
+
+    @Override public Objective registerNewObjective(@NotNull Scoreboard scoreboard,
+                                                    @NotNull String name,
+                                                    @NotNull String criteria,
+                                                    @NotNull Component displayName) {
+        ObjectiveWriteEvent event = new ObjectiveWriteEvent();
+        event.begin();
+        Objective objective = delegate.registerNewObjective(scoreboard, name, criteria, displayName);
+        commit(event, "registerNewObjective", displayName);
+        return objective;
+    }
+
+    @Override public void setDisplayName(Objective objective, Component displayName) {
+        ObjectiveWriteEvent event = new ObjectiveWriteEvent();
+        event.begin();
+        delegate.setDisplayName(objective, displayName);
+        commit(event, "setDisplayName", displayName);
+    }
+
+    @Override public Component getDisplayName(Objective objective) {
+        return delegate.getDisplayName(objective);
+    }
+
+    @Override public void setPrefix(Team team, Component prefix) {
+        ObjectiveWriteEvent event = new ObjectiveWriteEvent();
+        event.begin();
+        delegate.setPrefix(team, prefix);
+        commit(event, "setPrefix", prefix);
+    }
+
+    @Override public void setSuffix(Team team, Component suffix) {
+        ObjectiveWriteEvent event = new ObjectiveWriteEvent();
+        event.begin();
+        delegate.setSuffix(team, suffix);
+        commit(event, "setSuffix", suffix);
+    }
+
+    @Override public void setLine(Team team, Component line) {
+        ObjectiveWriteEvent event = new ObjectiveWriteEvent();
+        event.begin();
+        delegate.setLine(team, line);
+        commit(event, "setLine", line);
+    }
+
+    @Override public Object toNative(Component displayName) {
+        return delegate.toNative(displayName);
+    }
+
+    @Override public void setNativeDisplayName(Objective objective, Object displayName) {
+        ObjectiveWriteEvent event = new ObjectiveWriteEvent();
+        event.begin();
+        delegate.setNativeDisplayName(objective, displayName);
+        commit(event, "setNativeDisplayName", null);
+    }
+
+    // the size and text are only computed for events that are committed
+    private void commit(ObjectiveWriteEvent event, String operation, Component component) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.backend = backend;
+            event.operation = operation;
+            event.componentSize = size(component);
+            event.component = describe(component);
+            event.commit();
+        }
+    }
+
+    @Override public String toString() {
+        return "RecordedScoreboard(" + delegate + ")";
+    }
+}
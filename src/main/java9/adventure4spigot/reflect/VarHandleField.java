@@ -0,0 +1,66 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.reflect;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * A {@link ReflectField} that accesses its field through a {@link VarHandle}.
+ * <p>
+ * This class is compiled for Java 9 and is only loaded by {@link FieldEngine}
+ * when the running JVM supports it.
+ *
+ * @param <T> Field type
+ */
+final class VarHandleField<T> implements ReflectField<T> {
+
+    private final VarHandle handle;
+    private final boolean isStatic;
+
+    VarHandleField(@NotNull Field field) throws IllegalAccessException {
+        this.handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+                .unreflectVarHandle(field);
+        this.isStatic = Modifier.isStatic(field.getModifiers());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public T get(Object instance) {
+        if (isStatic) return (T) handle.get();
+        return (T) handle.get(instance);
+    }
+
+    @Override public void set(Object instance, T value) {
+        if (isStatic) handle.set(value);
+        else handle.set(instance, value);
+    }
+
+    @Override public String toString() {
+        return "VarHandleField(" + handle + ")";
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot;
+
+import adventure4spigot.item.AdventureItem;
+import adventure4spigot.item.ItemDisplay;
+import adventure4spigot.item.PreparedDisplays;
+import adventure4spigot.item.PreparedItemDisplay;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class DecorateAllTest {
+
+    private static final Executor DIRECT = Runnable::run;
+    private static final Executor UNUSED = task -> fail("A single display should be prepared on the calling thread");
+
+    private final RecordingItem backend = new RecordingItem();
+    private final Map<ItemDisplay, Integer> prepareCalls = new HashMap<>();
+    private final Function<ItemDisplay, PreparedItemDisplay> prepare = display -> {
+        prepareCalls.merge(display, 1, Integer::sum);
+        return PreparedDisplays.prepare(backend, display);
+    };
+
+    @Test void equalDisplaysArePreparedOnce() {
+        List<ItemStack> items = items("a", "b", "c", "d", "e");
+
+        Map<ItemStack, Throwable> failures = SpigotAdventure.decorateAll(items, item -> display(label(item).compareTo("c") < 0 ? "low" : "high"), prepare, DIRECT);
+
+        assertTrue(failures.isEmpty());
+        assertEquals(2, prepareCalls.size());
+        assertEquals(Arrays.asList(1, 1), new ArrayList<>(prepareCalls.values()));
+        assertEquals(Component.text("low"), displayName(items.get(0)));
+        assertEquals(Component.text("low"), displayName(items.get(1)));
+        assertEquals(Component.text("high"), displayName(items.get(4)));
+    }
+
+    @Test void singleDisplayIsPreparedOnTheCallingThread() {
+        List<ItemStack> items = items("a", "b", "c");
+
+        Map<ItemStack, Throwable> failures = SpigotAdventure.decorateAll(items, item -> display("same"), prepare, UNUSED);
+
+        assertTrue(failures.isEmpty());
+        assertEquals(Collections.singletonMap(display("same"), 1), prepareCalls);
+        assertEquals(Arrays.asList("a", "b", "c"), backend.applied);
+    }
+
+    @Test void itemsAreAppliedByDisplayInOrderOfFirstAppearance() {
+        List<ItemStack> items = items("a", "b", "c", "d", "e");
+        Map<String, String> displays = new HashMap<>();
+        displays.put("a", "red");
+        displays.put("b", "blue");
+        displays.put("c", "red");
+        displays.put("d", "green");
+        displays.put("e", "blue");
+
+        SpigotAdventure.decorateAll(items, item -> display(displays.get(label(item))), prepare, DIRECT);
+
+        assertEquals(Arrays.asList("a", "c", "b", "e", "d"), backend.applied);
+    }
+
+    @Test void nullDisplaysLeaveItemsUnchanged() {
+        List<ItemStack> items = items("a", "b");
+
+        Map<ItemStack, Throwable> failures = SpigotAdventure.decorateAll(items, item -> label(item).equals("a") ? null : display("b"), prepare, DIRECT);
+
+        assertTrue(failures.isEmpty());
+        assertNull(displayName(items.get(0)));
+        assertEquals(Component.text("b"), displayName(items.get(1)));
+    }
+
+    @Test void failuresAreMappedToEachItem() {
+        List<ItemStack> items = items("fine", "throwing", "unprepared", "alsoUnprepared", "broken");
+        RuntimeException displayFailure = new IllegalStateException("display");
+        RuntimeException prepareFailure = new IllegalArgumentException("prepare");
+        backend.failOn = "broken";
+
+        Map<ItemStack, Throwable> failures = SpigotAdventure.decorateAll(items, item -> {
+            switch (label(item)) {
+                case "throwing":
+                    throw displayFailure;
+                case "unprepared":
+                case "alsoUnprepared":
+                    return display("unprepared");
+                default:
+                    return display("fine");
+            }
+        }, display -> {
+            if (display.equals(display("unprepared")))
+                throw prepareFailure;
+            return prepare.apply(display);
+        }, DIRECT);
+
+        assertEquals(4, failures.size());
+        assertSame(displayFailure, failures.get(items.get(1)));
+        assertSame(prepareFailure, failures.get(items.get(2)));
+        assertSame(prepareFailure, failures.get(items.get(3)));
+        assertTrue(failures.get(items.get(4)) instanceof UnsupportedOperationException);
+        assertEquals(Component.text("fine"), displayName(items.get(0)));
+        assertEquals(Arrays.asList("fine", "broken"), backend.applied);
+        assertThrows(UnsupportedOperationException.class, failures::clear);
+    }
+
+    @Test void failuresAreComparedByIdentity() {
+        // ItemStack#equals compares contents, which these items share
+        List<ItemStack> items = items("first", "second");
+
+        Map<ItemStack, Throwable> failures = SpigotAdventure.decorateAll(items, item -> {
+            throw new IllegalStateException(label(item));
+        }, prepare, DIRECT);
+
+        assertEquals(2, failures.size());
+        assertEquals("first", failures.get(items.get(0)).getMessage());
+        assertEquals("second", failures.get(items.get(1)).getMessage());
+    }
+
+    private static ItemDisplay display(String name) {
+        return ItemDisplay.of(Component.text(name), Collections.singletonList(Component.text(name + " lore")));
+    }
+
+    private static List<ItemStack> items(String... labels) {
+        List<ItemStack> items = new ArrayList<>();
+        for (String label : labels)
+            items.add(new TestItem(label));
+        return items;
+    }
+
+    private static String label(ItemStack item) {
+        return ((TestItem) item).meta.label;
+    }
+
+    private static Component displayName(ItemStack item) {
+        return ((TestItem) item).meta.displayName;
+    }
+
+    /**
+     * Records which items it writes to, and fails on one of them
+     */
+    private static final class RecordingItem implements AdventureItem {
+
+        private final List<String> applied = new ArrayList<>();
+        private String failOn;
+
+        @Override public Component getDisplayName(ItemMeta meta) {
+            return FakeMeta.of(meta).displayName;
+        }
+
+        @Override public void setDisplayName(ItemMeta meta, Component displayName) {
+            FakeMeta fake = FakeMeta.of(meta);
+            applied.add(fake.label);
+            if (fake.label.equals(failOn))
+                throw new UnsupportedOperationException("Cannot write to " + fake.label);
+            fake.displayName = displayName;
+        }
+
+        @Override public List<Component> getLore(ItemMeta meta) {
+            return FakeMeta.of(meta).lore;
+        }
+
+        @Override public void setLore(ItemMeta meta, List<Component> lore) {
+            FakeMeta.of(meta).lore = lore;
+        }
+    }
+
+    /**
+     * An item that is not backed by an NMS item, so it is written through its meta
+     */
+    private static final class TestItem extends ItemStack {
+
+        private final FakeMeta meta;
+
+        TestItem(String label) {
+            super(Material.STONE);
+            this.meta = new FakeMeta(label);
+        }
+
+        @Override public ItemMeta getItemMeta() {
+            return meta.proxy();
+        }
+
+        @Override public boolean setItemMeta(ItemMeta itemMeta) {
+            return true;
+        }
+    }
+
+    private static final class FakeMeta implements InvocationHandler {
+
+        private final String label;
+        private Component displayName;
+        private List<Component> lore;
+
+        FakeMeta(String label) {
+            this.label = label;
+        }
+
+        static FakeMeta of(ItemMeta meta) {
+            return (FakeMeta) Proxy.getInvocationHandler(meta);
+        }
+
+        ItemMeta proxy() {
+            return (ItemMeta) Proxy.newProxyInstance(ItemMeta.class.getClassLoader(), new Class<?>[]{ItemMeta.class}, this);
+        }
+
+        @Override public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }
+    }
+}
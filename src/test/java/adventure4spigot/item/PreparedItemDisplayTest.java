@@ -0,0 +1,170 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.item;
+
+import adventure4spigot.util.SharedList;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PreparedItemDisplayTest {
+
+    private static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.legacySection();
+
+    private final List<Component> lore = Arrays.asList(
+            Component.text("First", NamedTextColor.GRAY),
+            Component.text("Second", NamedTextColor.GOLD));
+    private final PreparedItemDisplay display = PreparedItemDisplay.of(new StringItem(), Component.text("Kit"), lore);
+
+    @Test void everyMetaGetsTheConvertedValues() {
+        FakeMeta first = new FakeMeta(), second = new FakeMeta();
+
+        display.applyTo(first.proxy());
+        display.applyTo(second.proxy());
+
+        List<String> expected = Arrays.asList(LEGACY.serialize(lore.get(0)), LEGACY.serialize(lore.get(1)));
+        assertEquals(LEGACY.serialize(Component.text("Kit")), first.displayName);
+        assertEquals(expected, first.lore);
+        assertEquals(expected, second.lore);
+        assertInstanceOf(SharedList.class, first.lore);
+    }
+
+    @Test void changingOneItemsLoreDoesNotAffectAnother() {
+        FakeMeta first = new FakeMeta(), second = new FakeMeta(), third = new FakeMeta();
+        display.applyTo(first.proxy());
+        display.applyTo(second.proxy());
+
+        List<String> expected = new ArrayList<>(second.lore);
+        first.lore.set(0, "changed");
+        first.lore.add("added");
+        first.lore.remove(1);
+        display.applyTo(third.proxy());
+
+        assertEquals(Arrays.asList("changed", "added"), first.lore);
+        assertEquals(expected, second.lore);
+        assertEquals(expected, third.lore);
+        assertEquals(lore, display.getLore());
+    }
+
+    @Test void nullRemovesDisplayNameAndLore() {
+        FakeMeta fake = new FakeMeta();
+        display.applyTo(fake.proxy());
+
+        PreparedItemDisplay.of(new StringItem(), null, null).applyTo(fake.proxy());
+
+        assertNull(fake.displayName);
+        assertNull(fake.lore);
+    }
+
+    /**
+     * A backend that stores legacy strings, and keeps native lore lists
+     * as-is, like ByRawString does
+     */
+    private static final class StringItem implements AdventureItem {
+
+        @Override public Component getDisplayName(ItemMeta meta) {
+            String displayName = FakeMeta.of(meta).displayName;
+            return displayName == null ? null : LEGACY.deserialize(displayName);
+        }
+
+        @Override public void setDisplayName(ItemMeta meta, Component displayName) {
+            setNativeDisplayName(meta, displayName == null ? null : toNative(displayName));
+        }
+
+        @Override public List<Component> getLore(ItemMeta meta) {
+            List<String> lore = FakeMeta.of(meta).lore;
+            if (lore == null)
+                return null;
+            List<Component> components = new ArrayList<>();
+            for (String line : lore)
+                components.add(LEGACY.deserialize(line));
+            return components;
+        }
+
+        @Override public void setLore(ItemMeta meta, List<Component> lore) {
+            if (lore == null) {
+                setNativeLore(meta, null);
+                return;
+            }
+            List<Object> legacy = new ArrayList<>();
+            for (Component line : lore)
+                legacy.add(toNative(line));
+            setNativeLore(meta, legacy);
+        }
+
+        @Override public Object toNative(Component component) {
+            return LEGACY.serialize(component);
+        }
+
+        @Override public void setNativeDisplayName(ItemMeta meta, Object displayName) {
+            FakeMeta.of(meta).displayName = (String) displayName;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override public void setNativeLore(ItemMeta meta, List<?> lore) {
+            FakeMeta.of(meta).lore = (List<String>) lore;
+        }
+    }
+
+    /**
+     * Holds the display name and lore fields of an item meta
+     */
+    private static final class FakeMeta implements InvocationHandler {
+
+        private String displayName;
+        private List<String> lore;
+
+        static FakeMeta of(ItemMeta meta) {
+            return (FakeMeta) Proxy.getInvocationHandler(meta);
+        }
+
+        ItemMeta proxy() {
+            return (ItemMeta) Proxy.newProxyInstance(ItemMeta.class.getClassLoader(), new Class<?>[]{ItemMeta.class}, this);
+        }
+
+        @Override public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.item;
+
+import adventure4spigot.util.WriteTracker;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TrackedItemTest {
+
+    private static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.legacySection();
+
+    private final AdventureItem item = TrackedItem.wrap(new LegacyItem(true));
+
+    @BeforeEach void enableTracking() {
+        WriteTracker.setSuppressionEnabled(true);
+        WriteTracker.setMirrorEnabled(true);
+    }
+
+    @AfterEach void disableTracking() {
+        WriteTracker.setSuppressionEnabled(false);
+        WriteTracker.setMirrorEnabled(false);
+    }
+
+    @Test void loreSetThroughBukkitIsNotMistakenForTheLastWrite() {
+        FakeMeta fake = new FakeMeta();
+        ItemMeta meta = fake.proxy();
+        List<Component> lore = Collections.singletonList(Component.text("Sword"));
+
+        item.setLore(meta, lore);
+        meta.setLore(Collections.singletonList("Replaced"));
+        item.setLore(meta, lore);
+
+        assertEquals(Collections.singletonList("Sword"), fake.lore);
+    }
+
+    @Test void unchangedLoreIsSkipped() {
+        FakeMeta fake = new FakeMeta();
+        ItemMeta meta = fake.proxy();
+        List<Component> lore = Collections.singletonList(Component.text("Sword"));
+
+        item.setLore(meta, lore);
+        item.setLore(meta, new ArrayList<>(lore));
+
+        assertEquals(1, fake.loreWrites);
+    }
+
+    @Test void loreSetThroughBukkitIsNotMirrored() {
+        ItemMeta meta = new FakeMeta().proxy();
+
+        item.setLore(meta, Collections.singletonList(Component.text("Sword")));
+        meta.setLore(Collections.singletonList("Replaced"));
+
+        assertEquals(Collections.singletonList(Component.text("Replaced")), item.getLore(meta));
+    }
+
+    @Test void lossyBackendsAreNotMirrored() {
+        AdventureItem lossy = TrackedItem.wrap(new LegacyItem(false));
+        ItemMeta meta = new FakeMeta().proxy();
+        Component name = Component.text("Sword").clickEvent(ClickEvent.runCommand("/sword"));
+
+        lossy.setDisplayName(meta, name);
+
+        assertEquals(Component.text("Sword"), lossy.getDisplayName(meta));
+    }
+
+    /**
+     * A backend that stores legacy strings through the meta, like ByRawString
+     */
+    private static final class LegacyItem implements AdventureItem, RawItemAccess {
+
+        private final boolean lossless;
+
+        LegacyItem(boolean lossless) {
+            this.lossless = lossless;
+        }
+
+        @Override public Component getDisplayName(ItemMeta meta) {
+            return meta.hasDisplayName() ? LEGACY.deserialize(meta.getDisplayName()) : null;
+        }
+
+        @Override public void setDisplayName(ItemMeta meta, Component displayName) {
+            meta.setDisplayName(displayName == null ? null : LEGACY.serialize(displayName));
+        }
+
+        @Override public List<Component> getLore(ItemMeta meta) {
+            List<String> lore = meta.getLore();
+            if (lore == null)
+                return null;
+            List<Component> components = new ArrayList<>();
+            for (String line : lore)
+                components.add(LEGACY.deserialize(line));
+            return components;
+        }
+
+        @Override public void setLore(ItemMeta meta, List<Component> lore) {
+            if (lore == null) {
+                meta.setLore(null);
+                return;
+            }
+            List<String> legacy = new ArrayList<>();
+            for (Component line : lore)
+                legacy.add(LEGACY.serialize(line));
+            meta.setLore(legacy);
+        }
+
+        @Override public Object getRawDisplayName(ItemMeta meta) {
+            return ((FakeMeta) Proxy.getInvocationHandler(meta)).displayName;
+        }
+
+        @Override public Object getRawLore(ItemMeta meta) {
+            return ((FakeMeta) Proxy.getInvocationHandler(meta)).lore;
+        }
+
+        @Override public boolean isLossless() {
+            return lossless;
+        }
+    }
+
+    /**
+     * Stores display name and lore like CraftMetaItem does, which clears and
+     * refills its lore list instead of replacing it
+     */
+    private static final class FakeMeta implements InvocationHandler {
+
+        private String displayName;
+        private List<String> lore;
+        private int loreWrites;
+
+        ItemMeta proxy() {
+            return (ItemMeta) Proxy.newProxyInstance(ItemMeta.class.getClassLoader(), new Class<?>[]{ItemMeta.class}, this);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "hasDisplayName":
+                    return displayName != null;
+                case "getDisplayName":
+                    return displayName;
+                case "setDisplayName":
+                    displayName = (String) args[0];
+                    return null;
+                case "hasLore":
+                    return lore != null;
+                case "getLore":
+                    return lore == null ? null : new ArrayList<>(lore);
+                case "setLore":
+                    loreWrites++;
+                    List<String> newLore = (List<String>) args[0];
+                    if (newLore == null)
+                        lore = null;
+                    else if (lore == null)
+                        lore = new ArrayList<>(newLore);
+                    else {
+                        lore.clear();
+                        lore.addAll(newLore);
+                    }
+                    return null;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.pipeline;
+
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RenderPipelineTest {
+
+    private static final long GENEROUS_BUDGET = TimeUnit.SECONDS.toNanos(10);
+
+    private final List<String> applied = new ArrayList<>();
+    private final FakeScheduler scheduler = new FakeScheduler();
+
+    @Test void writesAreAppliedOnTheNextTick() throws Exception {
+        RenderPipeline pipeline = scheduler.create(Runnable::run, GENEROUS_BUDGET);
+        CompletableFuture<String> result = pipeline.submit(() -> "a", this::apply);
+
+        assertFalse(result.isDone());
+        assertEquals(1, pipeline.getPendingWrites());
+
+        scheduler.tick();
+
+        assertEquals("a", result.get());
+        assertEquals(Collections.singletonList("a"), applied);
+        assertEquals(0, pipeline.getPendingWrites());
+    }
+
+    @Test void slowToPrepareHeadBlocksLaterWrites() {
+        ManualExecutor executor = new ManualExecutor();
+        RenderPipeline pipeline = scheduler.create(executor, GENEROUS_BUDGET);
+        CompletableFuture<String> first = pipeline.submit(() -> "first", this::apply);
+        CompletableFuture<String> second = pipeline.submit(() -> "second", this::apply);
+
+        executor.run(1);
+        scheduler.tick();
+
+        assertEquals(Collections.emptyList(), applied);
+        assertFalse(second.isDone());
+
+        executor.run(0);
+        scheduler.tick();
+
+        assertEquals(Arrays.asList("first", "second"), applied);
+        assertTrue(first.isDone() && second.isDone());
+    }
+
+    @Test void atLeastOneWriteIsAppliedEveryTick() {
+        RenderPipeline pipeline = scheduler.create(Runnable::run, 1);
+        for (String value : Arrays.asList("a", "b", "c"))
+            pipeline.submit(() -> value, this::slowApply);
+
+        scheduler.tick();
+        assertEquals(Collections.singletonList("a"), applied);
+
+        scheduler.tick();
+        scheduler.tick();
+        assertEquals(Arrays.asList("a", "b", "c"), applied);
+    }
+
+    @Test void writesWithinTheBudgetShareATick() {
+        RenderPipeline pipeline = scheduler.create(Runnable::run, GENEROUS_BUDGET);
+        for (String value : Arrays.asList("a", "b", "c"))
+            pipeline.submit(() -> value, this::apply);
+
+        scheduler.tick();
+
+        assertEquals(Arrays.asList("a", "b", "c"), applied);
+    }
+
+    @Test void failedPreparationFailsTheFuture() {
+        RenderPipeline pipeline = scheduler.create(Runnable::run, GENEROUS_BUDGET);
+        IllegalStateException failure = new IllegalStateException("prepare");
+        CompletableFuture<String> failed = pipeline.submit(() -> {
+            throw failure;
+        }, this::apply);
+        CompletableFuture<String> next = pipeline.submit(() -> "next", this::apply);
+
+        scheduler.tick();
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, failed::get);
+        assertSame(failure, thrown.getCause());
+        // a failed write does not hold back the ones after it
+        assertTrue(next.isDone());
+        assertEquals(Collections.singletonList("next"), applied);
+    }
+
+    @Test void failedApplyFailsTheFuture() {
+        RenderPipeline pipeline = scheduler.create(Runnable::run, GENEROUS_BUDGET);
+        IllegalArgumentException failure = new IllegalArgumentException("apply");
+        CompletableFuture<Object> failed = pipeline.submit(() -> "a", value -> {
+            throw failure;
+        });
+
+        scheduler.tick();
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, failed::get);
+        assertSame(failure, thrown.getCause());
+    }
+
+    @Test void closeCancelsPendingWritesAndRejectsNewOnes() {
+        ManualExecutor executor = new ManualExecutor();
+        RenderPipeline pipeline = scheduler.create(executor, GENEROUS_BUDGET);
+        CompletableFuture<String> pending = pipeline.submit(() -> "pending", this::apply);
+
+        pipeline.close();
+
+        assertTrue(scheduler.cancelled);
+        assertTrue(pending.isCancelled());
+        assertEquals(0, pipeline.getPendingWrites());
+        assertThrows(IllegalStateException.class, () -> pipeline.submit(() -> "late", this::apply));
+
+        executor.run(0);
+        scheduler.tick();
+        assertEquals(Collections.emptyList(), applied);
+    }
+
+    @Test void writesSubmittedWhileClosingAreAppliedOrCancelled() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            FakeScheduler scheduler = new FakeScheduler();
+            RenderPipeline pipeline = scheduler.create(Runnable::run, GENEROUS_BUDGET);
+            List<CompletableFuture<String>> results = new CopyOnWriteArrayList<>();
+            CountDownLatch started = new CountDownLatch(4);
+            List<Thread> submitters = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                Thread thread = new Thread(() -> {
+                    started.countDown();
+                    try {
+                        while (true)
+                            results.add(pipeline.submit(() -> "x", value -> value));
+                    } catch (IllegalStateException closed) {
+                        // the pipeline was closed
+                    }
+                });
+                submitters.add(thread);
+                thread.start();
+            }
+            started.await();
+            pipeline.close();
+            for (Thread thread : submitters)
+                thread.join();
+
+            for (CompletableFuture<String> result : results)
+                assertTrue(result.isCancelled(), "a write was queued after close");
+            assertEquals(0, pipeline.getPendingWrites());
+        }
+    }
+
+    private String apply(String value) {
+        applied.add(value);
+        return value;
+    }
+
+    private String slowApply(String value) {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return apply(value);
+    }
+
+    /**
+     * Keeps the apply task of a pipeline, to run ticks by hand
+     */
+    private static final class FakeScheduler {
+
+        private Runnable drain;
+        private boolean cancelled;
+
+        RenderPipeline create(Executor executor, long tickBudgetNanos) {
+            return new RenderPipeline(executor, tickBudgetNanos, drain -> {
+                this.drain = drain;
+                return (BukkitTask) Proxy.newProxyInstance(BukkitTask.class.getClassLoader(), new Class<?>[]{BukkitTask.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "cancel":
+                            cancelled = true;
+                            return null;
+                        case "isCancelled":
+                            return cancelled;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+            });
+        }
+
+        void tick() {
+            if (!cancelled)
+                drain.run();
+        }
+    }
+
+    /**
+     * Runs the submitted preparations only when asked to, in any order
+     */
+    private static final class ManualExecutor implements Executor {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void run(int index) {
+            tasks.get(index).run();
+        }
+    }
+}
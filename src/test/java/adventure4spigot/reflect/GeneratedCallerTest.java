@@ -0,0 +1,133 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.reflect;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeneratedCallerTest {
+
+    @AfterEach void disableGeneration() {
+        GeneratedCaller.setEnabled(false);
+    }
+
+    @Test void staticTargets() throws Exception {
+        MethodCaller max = generate(Math.class.getMethod("max", int.class, int.class));
+        MethodCaller rotate = generate(Long.class.getMethod("rotateLeft", long.class, int.class));
+        MethodCaller valueOf = generate(String.class.getMethod("valueOf", char.class));
+
+        assertEquals(7, max.call(null, 3, 7));
+        assertEquals(7, max.call(null, new Object[]{7, 3}));
+        assertEquals(2L, rotate.call(null, 1L, 1));
+        assertEquals("x", valueOf.call(null, 'x'));
+    }
+
+    @Test void virtualTargets() throws Exception {
+        MethodCaller charAt = generate(String.class.getMethod("charAt", int.class));
+        MethodCaller regionMatches = generate(String.class.getMethod("regionMatches",
+                boolean.class, int.class, String.class, int.class, int.class));
+        MethodCaller add = generate(ArrayList.class.getMethod("add", int.class, Object.class));
+        List<String> list = new ArrayList<>(Arrays.asList("a", "c"));
+
+        assertEquals('b', charAt.call("abc", 1));
+        // more than three arguments only go through the varargs overload
+        assertEquals(true, regionMatches.call("Hello", true, 0, "HELLO", 0, 5));
+        // void methods return null
+        assertNull(add.call(list, 1, "b"));
+        assertEquals(Arrays.asList("a", "b", "c"), list);
+    }
+
+    @Test void interfaceTargets() throws Exception {
+        MethodCaller length = generate(CharSequence.class.getMethod("length"));
+        MethodCaller get = generate(List.class.getMethod("get", int.class));
+        MethodCaller compareTo = generate(Comparable.class.getMethod("compareTo", Object.class));
+
+        assertEquals(3, length.call("abc"));
+        assertEquals(3, length.call(new StringBuilder("abc"), new Object[0]));
+        assertEquals("b", get.call(Arrays.asList("a", "b"), 1));
+        assertTrue((Integer) compareTo.call(1, 2) < 0);
+    }
+
+    @Test void boundCallers() throws Exception {
+        MethodCaller.BoundMethodCaller substring = generate(String.class.getMethod("substring", int.class, int.class))
+                .bindTo("adventure");
+
+        assertEquals("vent", substring.call(2, 6));
+    }
+
+    @Test void wrongArgumentsFail() throws Exception {
+        MethodCaller charAt = generate(String.class.getMethod("charAt", int.class));
+
+        assertThrows(ClassCastException.class, () -> charAt.call("abc", "1"));
+        assertThrows(NullPointerException.class, () -> charAt.call("abc", (Object) null));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> charAt.call("abc", new Object[0]));
+    }
+
+    @Test void wrapUsesGeneratedCallersOnlyWhenEnabled() throws Exception {
+        Method charAt = String.class.getMethod("charAt", int.class);
+
+        assertFalse(MethodCaller.wrap(charAt).toString().startsWith("GeneratedCaller("));
+
+        GeneratedCaller.setEnabled(true);
+        MethodCaller generated = MethodCaller.wrap(charAt);
+        assertTrue(generated.toString().startsWith("GeneratedCaller("));
+        assertEquals('c', generated.call("abc", 2));
+    }
+
+    @Test void nonPublicMethodsAreNotGenerated() throws Exception {
+        assertNull(GeneratedCaller.generate(GeneratedCallerTest.class.getDeclaredMethod("generate", Method.class)));
+    }
+
+    @Test void nothingIsGeneratedWithoutAsm() throws Exception {
+        // loads this library again, without ASM or anything else on the class path
+        URL library = GeneratedCaller.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{library}, null)) {
+            Class<?> generatedCaller = loader.loadClass(GeneratedCaller.class.getName());
+            Method generate = generatedCaller.getDeclaredMethod("generate", Method.class);
+            generate.setAccessible(true);
+
+            assertNull(generate.invoke(null, String.class.getMethod("length")));
+        }
+    }
+
+    private static MethodCaller generate(Method method) {
+        MethodCaller caller = GeneratedCaller.generate(method);
+        assertNotNull(caller, () -> "could not generate a caller for " + method);
+        return caller;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.reflect;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MethodHandleCallerTest {
+
+    @Test void fixedArityOverloads() throws Exception {
+        MethodCaller length = caller(String.class.getMethod("length"));
+        MethodCaller charAt = caller(String.class.getMethod("charAt", int.class));
+        MethodCaller substring = caller(String.class.getMethod("substring", int.class, int.class));
+        MethodCaller replace = caller(String.class.getMethod("replace", char.class, char.class));
+        MethodCaller regionMatches = caller(String.class.getMethod("regionMatches", int.class, String.class, int.class, int.class));
+
+        assertEquals(9, length.call("adventure"));
+        assertEquals('v', charAt.call("adventure", 2));
+        assertEquals("vent", substring.call("adventure", 2, 6));
+        assertEquals("bdventure", replace.call("adventure", 'a', 'b'));
+        assertEquals(true, regionMatches.call("adventure", 2, "vent", 0, 4));
+    }
+
+    @Test void spreaderMatchesTheFixedArityOverloads() throws Exception {
+        MethodCaller length = caller(String.class.getMethod("length"));
+        MethodCaller charAt = caller(String.class.getMethod("charAt", int.class));
+        MethodCaller substring = caller(String.class.getMethod("substring", int.class, int.class));
+        MethodCaller indexOf = caller(String.class.getMethod("indexOf", String.class, int.class));
+
+        assertEquals(9, length.call("adventure", new Object[0]));
+        assertEquals('v', charAt.call("adventure", new Object[]{2}));
+        assertEquals("vent", substring.call("adventure", new Object[]{2, 6}));
+        assertEquals(7, indexOf.call("adventure", new Object[]{"re", 3}));
+    }
+
+    @Test void staticTargets() throws Exception {
+        MethodCaller nanoTime = caller(System.class.getMethod("nanoTime"));
+        MethodCaller abs = caller(Math.class.getMethod("abs", double.class));
+        MethodCaller max = caller(Math.class.getMethod("max", long.class, long.class));
+        MethodCaller addExact = caller(Math.class.getMethod("addExact", int.class, int.class));
+        MethodCaller arraycopy = caller(System.class.getMethod("arraycopy", Object.class, int.class, Object.class, int.class, int.class));
+        int[] target = new int[3];
+
+        assertEquals(Long.class, nanoTime.call(null).getClass());
+        assertEquals(1.5, abs.call(null, -1.5));
+        assertEquals(5L, max.call(null, 5L, 2L));
+        assertEquals(5L, max.call(null, new Object[]{2L, 5L}));
+        assertEquals(7, addExact.call(null, 3, 4));
+        // the instance is ignored by static targets
+        assertEquals(7, addExact.call("ignored", 3, 4));
+        assertNull(arraycopy.call(null, new int[]{1, 2, 3}, 1, target, 0, 2));
+        assertEquals(Arrays.toString(new int[]{2, 3, 0}), Arrays.toString(target));
+    }
+
+    @Test void primitivesAreBoxedAndUnboxed() throws Exception {
+        MethodCaller setLength = caller(StringBuilder.class.getMethod("setLength", int.class));
+        MethodCaller startsWith = caller(String.class.getMethod("startsWith", String.class, int.class));
+        MethodCaller isEmpty = caller(List.class.getMethod("isEmpty"));
+        StringBuilder builder = new StringBuilder("adventure");
+
+        assertNull(setLength.call(builder, 3));
+        assertEquals("adv", builder.toString());
+        assertEquals(true, startsWith.call("adventure", "vent", 2));
+        assertEquals(true, isEmpty.call(new ArrayList<>()));
+        // a wider primitive is not narrowed
+        assertThrows(ClassCastException.class, () -> startsWith.call("adventure", "vent", 2L));
+        assertThrows(NullPointerException.class, () -> startsWith.call("adventure", "vent", null));
+    }
+
+    @Test void wrongArgumentCount() throws Exception {
+        MethodCaller charAt = caller(String.class.getMethod("charAt", int.class));
+        MethodCaller substring = caller(String.class.getMethod("substring", int.class, int.class));
+
+        assertThrows(IllegalArgumentException.class, () -> charAt.call("adventure"));
+        assertThrows(IllegalArgumentException.class, () -> charAt.call("adventure", 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> substring.call("adventure", 1));
+        assertThrows(IllegalArgumentException.class, () -> substring.call("adventure", new Object[]{1, 2, 3}));
+    }
+
+    @Test void varargsMethodsTakeTheirArrayAsOneArgument() throws Exception {
+        MethodCaller format = caller(String.class.getMethod("format", String.class, Object[].class));
+
+        assertEquals("a-b", format.call(null, "%s-%s", new Object[]{"a", "b"}));
+    }
+
+    @Test void boundCallers() throws Exception {
+        MethodCaller.BoundMethodCaller substring = caller(String.class.getMethod("substring", int.class, int.class))
+                .bindTo("adventure");
+
+        assertEquals("vent", substring.call(2, 6));
+        assertEquals("vent", substring.call(new Object[]{2, 6}));
+    }
+
+    private static MethodCaller caller(Method method) throws IllegalAccessException {
+        return new MethodHandleCaller(method, MethodHandles.publicLookup().unreflect(method));
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.scoreboard;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Score;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SidebarTest {
+
+    private final FakeScoreboard scoreboard = new FakeScoreboard();
+    private final RecordingScoreboard backend = new RecordingScoreboard();
+    private final Sidebar sidebar = Sidebar.create(backend, scoreboard.proxy, "sidebar", Component.text("Title"));
+
+    @Test void createDisplaysTheObjectiveInTheSidebar() {
+        assertEquals("Title", scoreboard.displayName);
+        assertSame(DisplaySlot.SIDEBAR, scoreboard.slot);
+    }
+
+    @Test void eachLineHasItsOwnTeamAndEntry() {
+        sidebar.setLines(lines("a", "b", "c"));
+
+        assertEquals(Arrays.asList("a4s-line-0", "a4s-line-1", "a4s-line-2"), new ArrayList<>(scoreboard.teams.keySet()));
+        assertEquals(Collections.singleton("\u00A70\u00A7r"), scoreboard.teams.get("a4s-line-0").entries);
+        assertEquals(Collections.singleton("\u00A72\u00A7r"), scoreboard.teams.get("a4s-line-2").entries);
+        assertEquals(scores("\u00A70\u00A7r", 3, "\u00A71\u00A7r", 2, "\u00A72\u00A7r", 1), scoreboard.scores);
+        assertEquals(Arrays.asList("a4s-line-0=a", "a4s-line-1=b", "a4s-line-2=c"), backend.rendered);
+    }
+
+    @Test void entriesAreUniqueHexColorCodes() {
+        List<Component> lines = new ArrayList<>();
+        for (int i = 0; i < Sidebar.MAX_LINES; i++)
+            lines.add(Component.text("line " + i));
+
+        sidebar.setLines(lines);
+
+        Set<String> entries = new HashSet<>();
+        for (FakeTeam team : scoreboard.teams.values())
+            entries.addAll(team.entries);
+        assertEquals(Sidebar.MAX_LINES, entries.size());
+        assertEquals(Collections.singleton("\u00A7a\u00A7r"), scoreboard.teams.get("a4s-line-10").entries);
+        assertEquals(Collections.singleton("\u00A7e\u00A7r"), scoreboard.teams.get("a4s-line-14").entries);
+    }
+
+    @Test void unchangedLinesAreSkipped() {
+        sidebar.setLines(lines("a", "b", "c"));
+        backend.rendered.clear();
+
+        sidebar.setLines(lines("a", "b", "c"));
+        sidebar.setLine(0, Component.text("a"));
+        sidebar.setTitle(Component.text("Title"));
+        assertEquals(Collections.emptyList(), backend.rendered);
+        assertEquals(0, backend.titles);
+
+        sidebar.setLines(lines("a", "changed", "c"));
+        assertEquals(Collections.singletonList("a4s-line-1=changed"), backend.rendered);
+    }
+
+    @Test void removedLinesLoseTheirScores() {
+        sidebar.setLines(lines("a", "b", "c"));
+
+        sidebar.setLines(lines("a"));
+
+        assertEquals(Arrays.asList("\u00A71\u00A7r", "\u00A72\u00A7r"), scoreboard.resets);
+        assertEquals(scores("\u00A70\u00A7r", 1), scoreboard.scores);
+        assertEquals(lines("a"), sidebar.getLines());
+    }
+
+    @Test void addedLinesReuseTheirTeams() {
+        sidebar.setLines(lines("a", "b", "c"));
+        sidebar.setLines(lines("a"));
+        backend.rendered.clear();
+
+        sidebar.setLines(lines("a", "b", "new", "d"));
+
+        assertEquals(4, scoreboard.registeredTeams);
+        assertEquals(Arrays.asList("a4s-line-2=new", "a4s-line-3=d"), backend.rendered);
+        assertEquals(scores("\u00A70\u00A7r", 4, "\u00A71\u00A7r", 3, "\u00A72\u00A7r", 2, "\u00A73\u00A7r", 1), scoreboard.scores);
+    }
+
+    @Test void existingLineTeamsAreReused() {
+        scoreboard.proxy.registerNewTeam("a4s-line-0");
+
+        sidebar.setLines(lines("a"));
+
+        assertEquals(1, scoreboard.registeredTeams);
+        assertEquals(Collections.singleton("\u00A70\u00A7r"), scoreboard.teams.get("a4s-line-0").entries);
+    }
+
+    @Test void deleteUnregistersTheObjectiveAndTeams() {
+        sidebar.setLines(lines("a", "b"));
+
+        sidebar.delete();
+
+        assertTrue(scoreboard.objectiveUnregistered);
+        assertTrue(scoreboard.teams.get("a4s-line-0").unregistered);
+        assertTrue(scoreboard.teams.get("a4s-line-1").unregistered);
+        assertEquals(Collections.emptyList(), sidebar.getLines());
+    }
+
+    @Test void tooManyLinesAreRejected() {
+        List<Component> lines = new ArrayList<>();
+        for (int i = 0; i <= Sidebar.MAX_LINES; i++)
+            lines.add(Component.text(i));
+
+        assertThrows(IllegalArgumentException.class, () -> sidebar.setLines(lines));
+    }
+
+    @Test void longLinesAreSplitAcrossPrefixAndSuffixBefore1_13() {
+        FakeScoreboard legacy = new FakeScoreboard();
+        Sidebar sidebar = Sidebar.create(new ByRawString(), legacy.proxy, "sidebar", Component.text("Title"));
+
+        sidebar.setLines(Arrays.asList(
+                Component.text("short", NamedTextColor.RED),
+                Component.text("This line is longer", NamedTextColor.GOLD, TextDecoration.BOLD),
+                Component.text("abcdefghijklmno").append(Component.text("x", NamedTextColor.RED)),
+                Component.text("This line is much longer than thirty two", NamedTextColor.GREEN)));
+
+        assertAffixes(legacy, 0, "\u00A7cshort", "");
+        // the suffix repeats the formatting the prefix ended with
+        assertAffixes(legacy, 1, "\u00A76\u00A7lThis line is", "\u00A76\u00A7l longer");
+        // a color code is not cut in half at the end of the prefix
+        assertAffixes(legacy, 2, "abcdefghijklmno", "\u00A7cx");
+        assertAffixes(legacy, 3, "\u00A7aThis line is m", "\u00A7auch longer tha");
+    }
+
+    private static void assertAffixes(FakeScoreboard scoreboard, int line, String prefix, String suffix) {
+        FakeTeam team = scoreboard.teams.get(Sidebar.teamName(line));
+        assertEquals(prefix, team.prefix);
+        assertEquals(suffix, team.suffix);
+        assertTrue(team.prefix.length() <= 16 && team.suffix.length() <= 16);
+    }
+
+    private static List<Component> lines(String... lines) {
+        List<Component> components = new ArrayList<>();
+        for (String line : lines)
+            components.add(Component.text(line));
+        return components;
+    }
+
+    private static Map<String, Integer> scores(Object... entriesAndScores) {
+        Map<String, Integer> scores = new LinkedHashMap<>();
+        for (int i = 0; i < entriesAndScores.length; i += 2)
+            scores.put((String) entriesAndScores[i], (Integer) entriesAndScores[i + 1]);
+        return scores;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    return handler.invoke(proxy, method, args);
+            }
+        });
+    }
+
+    /**
+     * Records the lines it renders as plain text
+     */
+    private static final class RecordingScoreboard implements AdventureScoreboard {
+
+        private final List<String> rendered = new ArrayList<>();
+        private int titles;
+
+        @Override @SuppressWarnings("deprecation")
+        public Objective registerNewObjective(Scoreboard scoreboard, String name, String criteria, Component displayName) {
+            Objective objective = scoreboard.registerNewObjective(name, criteria);
+            objective.setDisplayName(plain(displayName));
+            return objective;
+        }
+
+        @Override public void setDisplayName(Objective objective, Component displayName) {
+            titles++;
+            objective.setDisplayName(plain(displayName));
+        }
+
+        @Override public Component getDisplayName(Objective objective) {
+            return Component.text(objective.getDisplayName());
+        }
+
+        @Override public void setLine(Team team, Component line) {
+            rendered.add(team.getName() + "=" + plain(line));
+            team.setPrefix(plain(line));
+        }
+
+        private static String plain(Component component) {
+            return PlainTextComponentSerializer.plainText().serialize(component);
+        }
+    }
+
+    /**
+     * Keeps the objective, teams and scores of a Bukkit scoreboard
+     */
+    private static final class FakeScoreboard {
+
+        private final Map<String, FakeTeam> teams = new LinkedHashMap<>();
+        private final Map<String, Integer> scores = new LinkedHashMap<>();
+        private final List<String> resets = new ArrayList<>();
+        private int registeredTeams;
+        private String displayName;
+        private DisplaySlot slot;
+        private boolean objectiveUnregistered;
+
+        private final Objective objective = proxy(Objective.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "setDisplayName":
+                    displayName = (String) args[0];
+                    return null;
+                case "getDisplayName":
+                    return displayName;
+                case "setDisplaySlot":
+                    slot = (DisplaySlot) args[0];
+                    return null;
+                case "getScore":
+                    String entry = (String) args[0];
+                    return proxy(Score.class, (score, scoreMethod, scoreArgs) -> {
+                        if (!scoreMethod.getName().equals("setScore"))
+                            throw new UnsupportedOperationException(scoreMethod.getName());
+                        scores.put(entry, (Integer) scoreArgs[0]);
+                        return null;
+                    });
+                case "unregister":
+                    objectiveUnregistered = true;
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+
+        private final Scoreboard proxy = proxy(Scoreboard.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "registerNewObjective":
+                    return objective;
+                case "registerNewTeam":
+                    registeredTeams++;
+                    FakeTeam team = new FakeTeam((String) args[0]);
+                    teams.put(team.name, team);
+                    return team.proxy;
+                case "getTeam":
+                    FakeTeam existing = teams.get((String) args[0]);
+                    return existing == null ? null : existing.proxy;
+                case "resetScores":
+                    resets.add((String) args[0]);
+                    scores.remove((String) args[0]);
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private static final class FakeTeam {
+
+        private final String name;
+        private final Set<String> entries = new HashSet<>();
+        private String prefix = "", suffix = "";
+        private boolean unregistered;
+
+        private final Team proxy;
+
+        FakeTeam(String name) {
+            this.name = name;
+            this.proxy = proxy(Team.class, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getName":
+                        return name;
+                    case "addEntry":
+                        entries.add((String) args[0]);
+                        return null;
+                    case "setPrefix":
+                        prefix = (String) args[0];
+                        return null;
+                    case "setSuffix":
+                        suffix = (String) args[0];
+                        return null;
+                    case "unregister":
+                        unregistered = true;
+                        return null;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.scoreboard;
+
+import adventure4spigot.packet.MemoryPacketSink;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VirtualScoreboardTest {
+
+    private final MemoryPacketSink sink = new MemoryPacketSink();
+    private final VirtualScoreboard scoreboard = VirtualScoreboard.create(new FakePackets(), sink, "board", text("Title"));
+
+    @Test void createSendsTheObjectiveInOneBatch() {
+        assertEquals(Collections.singletonList(Arrays.asList(
+                "objective create board Title",
+                "display sidebar board")), sink.getBatches());
+    }
+
+    @Test void oneFlushCarriesEveryPacketOfAnUpdate() {
+        sink.clear();
+
+        scoreboard.setLines(lines("a", "b"));
+
+        assertEquals(Collections.singletonList(Arrays.asList(
+                "team create a4s-line-0 a",
+                "team add a4s-line-0 [" + Sidebar.entry(0) + "]",
+                "team create a4s-line-1 b",
+                "team add a4s-line-1 [" + Sidebar.entry(1) + "]",
+                "score set " + Sidebar.entry(0) + " 2",
+                "score set " + Sidebar.entry(1) + " 1")), sink.getBatches());
+        assertEquals(Collections.emptyList(), sink.getPending());
+    }
+
+    @Test void unchangedLinesSendNothing() {
+        scoreboard.setLines(lines("a", "b"));
+        sink.clear();
+
+        scoreboard.setLines(lines("a", "b"));
+        scoreboard.setLine(1, text("b"));
+        scoreboard.setTitle(text("Title"));
+
+        assertEquals(Collections.emptyList(), sink.getBatches());
+    }
+
+    @Test void onlyChangedLinesAreSent() {
+        scoreboard.setLines(lines("a", "b", "c"));
+        sink.clear();
+
+        scoreboard.setLines(lines("a", "changed", "c"));
+        scoreboard.setTitle(text("New title"));
+
+        assertEquals(Arrays.asList(
+                Collections.singletonList("team update a4s-line-1 changed"),
+                Collections.singletonList("objective update board New title")), sink.getBatches());
+        assertEquals(lines("a", "changed", "c"), scoreboard.getLines());
+    }
+
+    @Test void shrinkingRemovesScoresAndReordersTheRest() {
+        scoreboard.setLines(lines("a", "b", "c"));
+        sink.clear();
+
+        scoreboard.setLines(lines("a"));
+
+        assertEquals(Collections.singletonList(Arrays.asList(
+                "score remove " + Sidebar.entry(1),
+                "score remove " + Sidebar.entry(2),
+                "score set " + Sidebar.entry(0) + " 1")), sink.getBatches());
+        assertEquals(lines("a"), scoreboard.getLines());
+    }
+
+    @Test void growingAgainReusesTheLineTeams() {
+        scoreboard.setLines(lines("a", "b", "c"));
+        scoreboard.setLines(lines("a"));
+        sink.clear();
+
+        scoreboard.setLines(lines("a", "b", "new", "d"));
+
+        assertEquals(Collections.singletonList(Arrays.asList(
+                "team update a4s-line-2 new",
+                "team create a4s-line-3 d",
+                "team add a4s-line-3 [" + Sidebar.entry(3) + "]",
+                "score set " + Sidebar.entry(0) + " 4",
+                "score set " + Sidebar.entry(1) + " 3",
+                "score set " + Sidebar.entry(2) + " 2",
+                "score set " + Sidebar.entry(3) + " 1")), sink.getBatches());
+    }
+
+    @Test void deleteRemovesTheObjectiveAndEveryTeam() {
+        scoreboard.setLines(lines("a", "b"));
+        scoreboard.setLines(lines("a"));
+        sink.clear();
+
+        scoreboard.delete();
+        scoreboard.delete();
+
+        assertEquals(Collections.singletonList(Arrays.asList(
+                "objective remove board Title",
+                "team remove a4s-line-0 a",
+                "team remove a4s-line-1 b")), sink.getBatches());
+        assertThrows(IllegalStateException.class, () -> scoreboard.setLines(lines("a")));
+    }
+
+    @Test void tooManyLinesAreRejected() {
+        List<Component> lines = new ArrayList<>();
+        for (int i = 0; i <= Sidebar.MAX_LINES; i++)
+            lines.add(text("line " + i));
+        sink.clear();
+
+        assertThrows(IllegalArgumentException.class, () -> scoreboard.setLines(lines));
+        assertEquals(Collections.emptyList(), sink.getBatches());
+    }
+
+    @Test void setLineOutsideTheLinesIsRejected() {
+        scoreboard.setLines(lines("a"));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> scoreboard.setLine(1, text("b")));
+    }
+
+    private static Component text(String text) {
+        return Component.text(text);
+    }
+
+    private static List<Component> lines(String... lines) {
+        List<Component> components = new ArrayList<>();
+        for (String line : lines)
+            components.add(text(line));
+        return components;
+    }
+
+    /**
+     * Describes each packet as a string, capturing the state of the objective
+     * or team when the packet is built, like the NMS packets do
+     */
+    private static final class FakePackets implements SidebarPackets {
+
+        private static final String[] OBJECTIVE_MODES = {"create", "remove", "update"};
+        private static final String[] TEAM_MODES = {"create", "remove", "update", "add"};
+
+        @Override public Object newObjective(String name, Component displayName) {
+            return new String[]{name, plain(displayName)};
+        }
+
+        @Override public void setDisplayName(Object objective, Component displayName) {
+            ((String[]) objective)[1] = plain(displayName);
+        }
+
+        @Override public Object newTeam(String name) {
+            return new String[]{name, ""};
+        }
+
+        @Override public void setPrefix(Object team, Component prefix) {
+            ((String[]) team)[1] = plain(prefix);
+        }
+
+        @Override public Object objective(Object objective, int mode) {
+            String[] fields = (String[]) objective;
+            return "objective " + OBJECTIVE_MODES[mode] + " " + fields[0] + " " + fields[1];
+        }
+
+        @Override public Object displaySidebar(Object objective) {
+            return "display sidebar " + ((String[]) objective)[0];
+        }
+
+        @Override public Object setScore(String objective, String entry, int score) {
+            return "score set " + entry + " " + score;
+        }
+
+        @Override public Object resetScore(String objective, String entry) {
+            return "score remove " + entry;
+        }
+
+        @Override public Object team(Object team, int mode) {
+            String[] fields = (String[]) team;
+            return "team " + TEAM_MODES[mode] + " " + fields[0] + " " + fields[1];
+        }
+
+        @Override public Object teamEntries(Object team, Collection<String> entries, int mode) {
+            return "team " + TEAM_MODES[mode] + " " + ((String[]) team)[0] + " " + entries;
+        }
+
+        private static String plain(Component component) {
+            return PlainTextComponentSerializer.plainText().serialize(component);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.util;
+
+import adventure4spigot.metrics.InMemoryMetricsRegistry;
+import adventure4spigot.metrics.Metrics;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConversionCacheTest {
+
+    private static final AtomicInteger NAMES = new AtomicInteger();
+
+    private final ConversionCache<String> cache = ConversionCache.create("test" + NAMES.incrementAndGet());
+    private final AtomicInteger conversions = new AtomicInteger();
+    private final Function<Component, String> converter = component -> {
+        conversions.incrementAndGet();
+        // a new string every time, to tell cached values apart
+        return new String(component.toString());
+    };
+
+    @AfterEach void disableCaching() {
+        ConversionCache.setMaximumSize(0);
+        Metrics.setRegistry(null);
+    }
+
+    @Test void disabledByDefault() {
+        assertEquals(0, ConversionCache.getMaximumSize());
+
+        String first = cache.get(Component.text("a"), converter);
+        String second = cache.get(Component.text("a"), converter);
+
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(2, conversions.get());
+        assertEquals(0, cache.stats().getRequestCount());
+    }
+
+    @Test void enabledCacheConvertsOnce() {
+        ConversionCache.setMaximumSize(16);
+
+        String first = cache.get(Component.text("a"), converter);
+        String second = cache.get(Component.text("a"), converter);
+
+        assertSame(first, second);
+        assertEquals(1, conversions.get());
+    }
+
+    @Test void disablingDropsCachedValues() {
+        ConversionCache.setMaximumSize(16);
+        String cached = cache.get(Component.text("a"), converter);
+
+        ConversionCache.setMaximumSize(0);
+
+        assertNotSame(cached, cache.get(Component.text("a"), converter));
+        assertNotSame(cached, cache.get(Component.text("a"), converter));
+        assertEquals(3, conversions.get());
+    }
+
+    @Test void resizingClearsTheCache() {
+        ConversionCache.setMaximumSize(16);
+        String cached = cache.get(Component.text("a"), converter);
+
+        ConversionCache.setMaximumSize(32);
+
+        assertNotSame(cached, cache.get(Component.text("a"), converter));
+        assertEquals(1, cache.stats().getMissCount());
+    }
+
+    @Test void leastRecentlyUsedEntriesAreEvicted() {
+        ConversionCache.setMaximumSize(2);
+        cache.get(Component.text("a"), converter);
+        cache.get(Component.text("b"), converter);
+        cache.get(Component.text("a"), converter);
+
+        cache.get(Component.text("c"), converter);
+
+        assertEquals(1, cache.stats().getEvictionCount());
+        cache.get(Component.text("a"), converter);
+        assertEquals(3, conversions.get());
+        cache.get(Component.text("b"), converter);
+        assertEquals(4, conversions.get());
+    }
+
+    @Test void getAllKeepsTheOrder() {
+        ConversionCache.setMaximumSize(16);
+
+        List<Component> components = Arrays.asList(Component.text("a"), Component.text("b"), Component.text("a"));
+
+        assertEquals(Arrays.asList(Component.text("a").toString(), Component.text("b").toString(), Component.text("a").toString()),
+                cache.getAll(components, converter));
+        assertEquals(1, cache.stats().getHitCount());
+        assertEquals(2, cache.stats().getMissCount());
+    }
+
+    @Test void statsAndHitRateGauge() {
+        InMemoryMetricsRegistry metrics = new InMemoryMetricsRegistry();
+        Metrics.setRegistry(metrics);
+        String gauge = "cache." + cache.getName() + ".hitRate";
+        assertEquals(1.0, metrics.getGauges().get(gauge));
+
+        ConversionCache.setMaximumSize(16);
+        for (String text : Arrays.asList("a", "a", "a", "b"))
+            cache.get(Component.text(text), converter);
+
+        ConversionCache.Stats stats = cache.stats();
+        assertEquals(2, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(4, stats.getRequestCount());
+        assertEquals(0.5, stats.getHitRate());
+        assertEquals(0.5, metrics.getGauges().get(gauge));
+        assertEquals(stats.toString(), ConversionCache.allStats().get(cache.getName()).toString());
+    }
+
+    @Test void negativeSizesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ConversionCache.setMaximumSize(-1));
+    }
+}
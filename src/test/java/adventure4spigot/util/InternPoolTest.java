@@ -0,0 +1,113 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.util;
+
+import adventure4spigot.metrics.InMemoryMetricsRegistry;
+import adventure4spigot.metrics.Metrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InternPoolTest {
+
+    @AfterEach void disableInterning() {
+        InternPool.setEnabled(false);
+        Metrics.setRegistry(null);
+    }
+
+    @Test void disabledByDefault() {
+        assertFalse(InternPool.isEnabled());
+        long saved = InternPool.getBytesSaved();
+        String first = copy("{\"text\":\"disabled\"}");
+        String second = copy(first);
+
+        assertSame(first, InternPool.intern(first));
+        assertSame(second, InternPool.intern(second));
+        assertEquals(saved, InternPool.getBytesSaved());
+    }
+
+    @Test void equalStringsAreShared() {
+        InternPool.setEnabled(true);
+        assertTrue(InternPool.isEnabled());
+        String first = copy("{\"text\":\"shared\"}");
+
+        assertSame(first, InternPool.intern(first));
+        assertSame(first, InternPool.intern(copy(first)));
+        assertSame(first, InternPool.intern(copy(first)));
+    }
+
+    @Test void onlyDroppedCopiesCountAsSaved() {
+        InternPool.setEnabled(true);
+        String latin = copy("\u00A7cLatin-1");
+        String wide = copy("\u00A7c\u4E2D\u6587");
+
+        long saved = InternPool.getBytesSaved();
+        InternPool.intern(latin);
+        InternPool.intern(latin);
+        InternPool.intern(wide);
+        assertEquals(saved, InternPool.getBytesSaved());
+
+        InternPool.intern(copy(latin));
+        assertEquals(saved + 40 + latin.length(), InternPool.getBytesSaved());
+
+        InternPool.intern(copy(wide));
+        assertEquals(saved + 40 + latin.length() + 40 + 2 * wide.length(), InternPool.getBytesSaved());
+    }
+
+    @Test void savedBytesAreReportedAsATotal() {
+        InMemoryMetricsRegistry metrics = new InMemoryMetricsRegistry();
+        Metrics.setRegistry(metrics);
+        InternPool.setEnabled(true);
+        String line = copy("reported");
+
+        InternPool.intern(line);
+        InternPool.intern(copy(line));
+        InternPool.intern(copy(line));
+
+        assertEquals(2L * (40 + line.length()), metrics.getTotals().get(Metrics.INTERN_BYTES_SAVED));
+    }
+
+    @Test void disablingDiscardsThePool() {
+        InternPool.setEnabled(true);
+        String before = copy("discarded");
+        InternPool.intern(before);
+
+        InternPool.setEnabled(false);
+        String copy = copy(before);
+        assertSame(copy, InternPool.intern(copy));
+
+        InternPool.setEnabled(true);
+        long saved = InternPool.getBytesSaved();
+        assertSame(copy, InternPool.intern(copy));
+        assertEquals(saved, InternPool.getBytesSaved());
+    }
+
+    private static String copy(String value) {
+        return new String(value.toCharArray());
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.util;
+
+import adventure4spigot.metrics.InMemoryMetricsRegistry;
+import adventure4spigot.metrics.Metrics;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class JsonComponentSerializerTest {
+
+    private final InMemoryMetricsRegistry metrics = new InMemoryMetricsRegistry();
+
+    @BeforeEach void countPaths() {
+        Metrics.setRegistry(metrics);
+    }
+
+    @AfterEach void stopCounting() {
+        Metrics.setRegistry(null);
+    }
+
+    @Test void codecPassesItsSelfTest() {
+        assertTrue(JsonComponentSerializer.isSupported());
+    }
+
+    @Test void trivialText() {
+        assertRoundTrips(Component.text("plain"));
+        assertRoundTrips(Component.text("Lore", NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false));
+        assertRoundTrips(Component.text("Title", TextColor.color(0x3fa9d2), TextDecoration.BOLD));
+        assertFastPathOnly();
+    }
+
+    @Test void trivialTextUnderStylelessParents() {
+        assertRoundTrips(Component.text().append(Component.text("child")).build());
+        assertRoundTrips(Component.text().content("parent").append(Component.text("child")).build());
+        assertRoundTrips(Component.text()
+                .append(Component.text().append(Component.text("grandchild", NamedTextColor.RED)).build())
+                .append(Component.text("sibling"))
+                .build());
+        assertFastPathOnly();
+    }
+
+    @Test void trivialEmptyText() {
+        assertRoundTrips(Component.empty());
+        assertRoundTrips(Component.text(""));
+        assertRoundTrips(Component.text("", NamedTextColor.RED));
+        assertRoundTrips(Component.text().append(Component.empty()).build());
+        assertReadsLikeGson("\"\"");
+        assertReadsLikeGson("{\"text\":\"\"}");
+        assertFastPathOnly();
+    }
+
+    @Test void trivialTextNeedingEscapes() {
+        for (char c = 0; c < 128; c++)
+            assertRoundTrips(Component.text("a" + c + "b"));
+        assertRoundTrips(Component.text("\u2028\u2029\u00e9\ud83d\ude00"));
+        assertRoundTrips(Component.text("\"\\<>&='", NamedTextColor.GOLD));
+        assertFastPathOnly();
+    }
+
+    @Test void nestedChildren() {
+        Component deepest = Component.text("c", NamedTextColor.RED, TextDecoration.BOLD);
+        Component middle = Component.text().content("b")
+                .append(deepest)
+                .append(Component.text("d"))
+                .decoration(TextDecoration.ITALIC, false)
+                .build();
+        assertRoundTrips(Component.text().content("a").color(NamedTextColor.GOLD).append(middle).build());
+        assertRoundTrips(Component.text().append(Component.text("x")).append(Component.empty()).build());
+        assertFastPathOnly();
+    }
+
+    @Test void everyDecorationState() {
+        for (TextDecoration decoration : TextDecoration.values()) {
+            for (TextDecoration.State state : TextDecoration.State.values())
+                assertRoundTrips(Component.text(decoration + " " + state).decoration(decoration, state));
+        }
+        Component all = Component.text("all");
+        for (TextDecoration decoration : TextDecoration.values())
+            all = all.decoration(decoration, decoration.ordinal() % 2 == 0);
+        assertRoundTrips(all);
+        assertFastPathOnly();
+    }
+
+    @Test void hexAndNamedColors() {
+        for (NamedTextColor color : NamedTextColor.NAMES.values())
+            assertRoundTrips(Component.text("named", color));
+        assertRoundTrips(Component.text("hex", TextColor.color(0x3fa9d2)));
+        assertRoundTrips(Component.text("hex", TextColor.color(0x000001)));
+        // the exact value of a named color is still written as a hex color
+        assertRoundTrips(Component.text("hex", TextColor.color(NamedTextColor.RED.value())));
+        assertFastPathOnly();
+    }
+
+    @Test void clickAndHoverEvents() {
+        for (ClickEvent.Action action : ClickEvent.Action.NAMES.values())
+            assertRoundTrips(Component.text("click").clickEvent(ClickEvent.clickEvent(action, "/value \"quoted\"")));
+        Component hover = Component.text().content("hover")
+                .color(TextColor.color(0x3fa9d2))
+                .append(Component.text("child", NamedTextColor.GRAY))
+                .build();
+        assertRoundTrips(Component.text("hover").hoverEvent(HoverEvent.showText(hover)));
+        assertRoundTrips(Component.text("both")
+                .clickEvent(ClickEvent.suggestCommand("/msg "))
+                .hoverEvent(HoverEvent.showText(Component.text("tip")))
+                .insertion("insert")
+                .font(Key.key("uniform")));
+        assertFastPathOnly();
+    }
+
+    @Test void translatableArgs() {
+        assertRoundTrips(Component.translatable("item.minecraft.diamond"));
+        assertRoundTrips(Component.translatable("chat.type.text",
+                Component.text("Steve", NamedTextColor.YELLOW),
+                Component.translatable("item.minecraft.diamond", Component.text("nested"))));
+        assertRoundTrips(Component.translatable("key", NamedTextColor.RED).append(Component.text("child")));
+        assertFastPathOnly();
+    }
+
+    @Test void otherComponentTypes() {
+        assertRoundTrips(Component.keybind("key.jump").insertion("jump"));
+        assertRoundTrips(Component.score("@p", "kills"));
+        assertRoundTrips(Component.selector("@a", Component.text(", ")));
+        assertRoundTrips(Component.selector("@e"));
+        assertFastPathOnly();
+    }
+
+    @Test void escapesAndSurrogatePairs() {
+        assertRoundTrips(Component.text("\"quoted\" \\ back/slash"));
+        assertRoundTrips(Component.text("<b>&amp;='x'</b>"));
+        assertRoundTrips(Component.text("\n\t\r\b\f\u0000\u0001\u001f\u007f"));
+        assertRoundTrips(Component.text("\u00e9\u4e2d\u2028\u2029"));
+        assertRoundTrips(Component.text("\ud83d\ude00 and \ud83c\udf89"));
+        assertReadsLikeGson("{\"text\":\"\\ud83d\\ude00\\u00e9\\/\\\"\"}");
+        assertReadsLikeGson("\"\\u003cescaped\\u003e\"");
+        assertFastPathOnly();
+    }
+
+    @Test void acceptsGsonInputInAnyOrder() {
+        assertReadsLikeGson("\"plain\"");
+        assertReadsLikeGson("[\"a\",{\"text\":\"b\",\"color\":\"red\"}]");
+        assertReadsLikeGson("{\"italic\":false,\"color\":\"gold\",\"text\":\"a\"}");
+        assertReadsLikeGson(" { \"extra\" : [ \"x\" ] , \"text\" : \"\" , \"color\" : \"#3fa9d2\" } ");
+        assertReadsLikeGson("{\"clickEvent\":{\"value\":\"/help\",\"action\":\"run_command\"},\"text\":\"a\"}");
+        assertReadsLikeGson("{\"with\":[\"x\"],\"translate\":\"key\"}");
+        assertFastPathOnly();
+    }
+
+    @Test void clickEventWithoutValueIsLeftToGson() {
+        // Gson drops a click event with no value, and rejects a null one
+        assertReadsLikeGson("{\"text\":\"a\",\"clickEvent\":{\"action\":\"run_command\"}}");
+        assertRejectedLikeGson("{\"text\":\"a\",\"clickEvent\":{\"action\":\"run_command\",\"value\":null}}");
+        assertTrue(metrics.getTotals().getOrDefault(Metrics.JSON_FALLBACK, 0L) > 0);
+    }
+
+    @Test void malformedInputIsRejected() {
+        assertRejectedLikeGson("{\"text\":\"a\"");
+        assertRejectedLikeGson("{\"text\":\"a\",}");
+        assertRejectedLikeGson("{\"text\":\"unterminated}");
+        assertRejectedLikeGson("{\"text\":\"a\",\"clickEvent\":{\"action\":\"nope\",\"value\":\"x\"}}");
+        assertRejectedLikeGson("[]");
+        assertRejectedLikeGson("{\"text\":\"a\"} trailing");
+    }
+
+    @Test void inputOutsideTheFastPathFallsBackToGson() {
+        assertReadsLikeGson("{'text':'lenient'}");
+        assertReadsLikeGson("{\"text\":\"a\",\"text\":\"duplicate\"}");
+        assertReadsLikeGson("{\"text\":\"a\",\"unknown\":1}");
+        assertTrue(metrics.getTotals().getOrDefault(Metrics.JSON_FALLBACK, 0L) > 0);
+    }
+
+    /**
+     * Both serializers must write exactly what Gson writes, and read it back
+     * into what Gson reads
+     */
+    private static void assertRoundTrips(Component component) {
+        assertRoundTrips(GsonComponentSerializer.gson(), JsonComponentSerializer.gson(), component);
+        assertRoundTrips(GsonComponentSerializer.colorDownsamplingGson(), JsonComponentSerializer.colorDownsamplingGson(), component);
+    }
+
+    private static void assertRoundTrips(GsonComponentSerializer gson, JsonComponentSerializer json, Component component) {
+        String expected = gson.serialize(component);
+        assertEquals(expected, json.serialize(component));
+        assertEquals(gson.deserialize(expected), json.deserialize(expected));
+    }
+
+    private static void assertReadsLikeGson(String input) {
+        assertEquals(GsonComponentSerializer.gson().deserialize(input), JsonComponentSerializer.gson().deserialize(input));
+        assertEquals(GsonComponentSerializer.colorDownsamplingGson().deserialize(input),
+                JsonComponentSerializer.colorDownsamplingGson().deserialize(input));
+    }
+
+    private static void assertRejectedLikeGson(String input) {
+        RuntimeException expected = null;
+        try {
+            GsonComponentSerializer.gson().deserialize(input);
+        } catch (RuntimeException e) {
+            expected = e;
+        }
+        if (expected == null)
+            fail("Gson accepts " + input);
+        assertThrows(expected.getClass(), () -> JsonComponentSerializer.gson().deserialize(input));
+        assertThrows(expected.getClass(), () -> JsonComponentSerializer.colorDownsamplingGson().deserialize(input));
+    }
+
+    private void assertFastPathOnly() {
+        assertNull(metrics.getTotals().get(Metrics.JSON_FALLBACK));
+        assertTrue(metrics.getTotals().getOrDefault(Metrics.JSON_FAST_PATH, 0L) > 0);
+    }
+}
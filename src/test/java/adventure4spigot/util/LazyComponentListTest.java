@@ -0,0 +1,122 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.util;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LazyComponentListTest {
+
+    private static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.legacySection();
+
+    private final List<String> raw = new ArrayList<>(Arrays.asList("\u00A7cRed", "plain", "\u00A7a\u00A7lBold green"));
+    private final AtomicInteger decodes = new AtomicInteger();
+    private final Function<String, Component> decoder = line -> {
+        decodes.incrementAndGet();
+        return LEGACY.deserialize(line);
+    };
+
+    @Test void linesAreDecodedOnlyWhenAccessed() {
+        List<Component> lore = LazyComponentList.of(raw, decoder);
+
+        assertEquals(3, lore.size());
+        assertEquals(0, decodes.get());
+
+        assertEquals(Component.text("plain"), lore.get(1));
+        assertEquals(1, decodes.get());
+    }
+
+    @Test void eachLineIsDecodedOnce() {
+        List<Component> lore = LazyComponentList.of(raw, decoder);
+
+        Component first = lore.get(0);
+        assertSame(first, lore.get(0));
+        for (Component ignored : lore) {
+            // decodes the remaining lines
+        }
+        lore.hashCode();
+        lore.equals(eager());
+
+        assertEquals(3, decodes.get());
+    }
+
+    @Test void equalsAndHashCodeMatchAnEagerList() {
+        List<Component> lore = LazyComponentList.of(raw, decoder);
+        List<Component> eager = eager();
+
+        assertEquals(eager, lore);
+        assertEquals(lore, eager);
+        assertEquals(eager.hashCode(), lore.hashCode());
+        assertEquals(eager.toString(), lore.toString());
+
+        List<Component> different = new ArrayList<>(eager);
+        different.set(2, Component.text("Bold green", NamedTextColor.GREEN));
+        assertNotEquals(different, lore);
+        assertNotEquals(lore, eager.subList(0, 2));
+        assertEquals(Collections.emptyList(), LazyComponentList.of(Collections.<String>emptyList(), decoder));
+    }
+
+    @Test void laterChangesToTheRawLinesAreNotSeen() {
+        List<Component> lore = LazyComponentList.of(raw, decoder);
+        List<Component> before = eager();
+        lore.get(0);
+
+        // CraftMetaItem refills its lore list in place
+        raw.clear();
+        raw.add("replaced");
+
+        assertEquals(before, lore);
+        assertEquals(3, lore.size());
+    }
+
+    @Test void listIsReadOnly() {
+        List<Component> lore = LazyComponentList.of(raw, decoder);
+
+        assertThrows(UnsupportedOperationException.class, () -> lore.set(0, Component.empty()));
+        assertThrows(UnsupportedOperationException.class, () -> lore.add(Component.empty()));
+        assertThrows(UnsupportedOperationException.class, () -> lore.remove(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> lore.get(3));
+    }
+
+    private List<Component> eager() {
+        List<Component> eager = new ArrayList<>();
+        for (String line : raw)
+            eager.add(LEGACY.deserialize(line));
+        return eager;
+    }
+}
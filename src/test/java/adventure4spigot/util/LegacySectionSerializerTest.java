@@ -0,0 +1,163 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.util;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LegacySectionSerializerTest {
+
+    private static final LegacyComponentSerializer ADVENTURE = LegacyComponentSerializer.legacySection();
+    private static final LegacySectionSerializer LEGACY = LegacySectionSerializer.legacySection();
+
+    @Test void fastPathsPassTheirSelfTest() {
+        assertTrue(LegacySectionSerializer.isSupported());
+    }
+
+    @Test void emptyComponents() {
+        assertSerializesLikeAdventure(Component.empty());
+        assertSerializesLikeAdventure(Component.text("", NamedTextColor.RED, TextDecoration.BOLD));
+        assertSerializesLikeAdventure(Component.text().append(Component.empty()).append(Component.text("")).build());
+        assertSerializesLikeAdventure(Component.text()
+                .append(Component.text("", NamedTextColor.RED))
+                .append(Component.text("after"))
+                .build());
+        assertDeserializesLikeAdventure("");
+        assertDeserializesLikeAdventure("\u00A7c");
+        assertDeserializesLikeAdventure("\u00A7c\u00A7l");
+    }
+
+    @Test void everyColorAndDecoration() {
+        for (NamedTextColor color : NamedTextColor.NAMES.values()) {
+            for (TextDecoration decoration : TextDecoration.values())
+                assertSerializesLikeAdventure(Component.text("x", color, decoration));
+        }
+        Component all = Component.text("all", NamedTextColor.AQUA);
+        for (TextDecoration decoration : TextDecoration.values())
+            all = all.decoration(decoration, true);
+        assertSerializesLikeAdventure(all);
+    }
+
+    @Test void resetAndDecorationOrdering() {
+        // a decoration turned off in a child forces a reset and a rewrite of the color
+        assertSerializesLikeAdventure(Component.text("bold ", NamedTextColor.RED, TextDecoration.BOLD)
+                .append(Component.text("plain").decoration(TextDecoration.BOLD, false)));
+        // siblings with the same style share their codes, and a changed color resets decorations
+        assertSerializesLikeAdventure(Component.text()
+                .append(Component.text("a", NamedTextColor.RED, TextDecoration.BOLD))
+                .append(Component.text("b", NamedTextColor.RED, TextDecoration.BOLD))
+                .append(Component.text("c", NamedTextColor.BLUE, TextDecoration.BOLD))
+                .append(Component.text("d", NamedTextColor.BLUE))
+                .build());
+        // children inherit, then drop back to the parent's style
+        assertSerializesLikeAdventure(Component.text("outer ", NamedTextColor.GREEN, TextDecoration.ITALIC)
+                .append(Component.text("inner", NamedTextColor.GREEN, TextDecoration.BOLD)
+                        .decoration(TextDecoration.ITALIC, false)
+                        .append(Component.text(" deep").decoration(TextDecoration.BOLD, false)))
+                .append(Component.text(" tail")));
+        // decorations without a color
+        assertSerializesLikeAdventure(Component.text()
+                .append(Component.text("u").decoration(TextDecoration.UNDERLINED, true))
+                .append(Component.text("s").decoration(TextDecoration.STRIKETHROUGH, true))
+                .append(Component.text("n"))
+                .build());
+
+        assertDeserializesLikeAdventure("\u00A76\u00A7lTitle");
+        assertDeserializesLikeAdventure("\u00A7l\u00A76Title");
+        assertDeserializesLikeAdventure("\u00A7o\u00A7rx");
+        assertDeserializesLikeAdventure("\u00A7l\u00A7o\u00A7n\u00A7m\u00A7kall");
+        assertDeserializesLikeAdventure("\u00A7aa\u00A7lb\u00A7rc");
+        assertDeserializesLikeAdventure("end\u00A7");
+        assertDeserializesLikeAdventure("\u00A7zunknown");
+        assertDeserializesLikeAdventure("\u00A7Cupper");
+    }
+
+    @Test void hexColorsAreDownsampled() {
+        assertSerializesLikeAdventure(Component.text("hex", TextColor.color(0x3fa9d2)));
+        assertSerializesLikeAdventure(Component.text("hex", TextColor.color(0x3fa9d2), TextDecoration.BOLD));
+        assertSerializesLikeAdventure(Component.text("near red", TextColor.color(0xff5556)));
+        // two hex colors that downsample to the same named color
+        assertSerializesLikeAdventure(Component.text()
+                .append(Component.text("a", TextColor.color(0xff5555)))
+                .append(Component.text("b", TextColor.color(0xfe5454)))
+                .build());
+    }
+
+    @Test void deepNesting() {
+        assertSerializesLikeAdventure(nest(64));
+        assertSerializesLikeAdventure(nest(511));
+    }
+
+    @Test void treesTooDeepForAdventureFailTheSameWay() {
+        Component tooDeep = nest(600);
+        RuntimeException expected = assertThrows(RuntimeException.class, () -> ADVENTURE.serialize(tooDeep));
+        assertThrows(expected.getClass(), () -> LEGACY.serialize(tooDeep));
+    }
+
+    @Test void nonTextComponentsFallBack() {
+        assertSerializesLikeAdventure(Component.text()
+                .append(Component.translatable("item.minecraft.diamond"))
+                .append(Component.keybind("key.jump", NamedTextColor.RED))
+                .append(Component.text("text", NamedTextColor.RED))
+                .build());
+    }
+
+    /**
+     * Alternates colors and decorations at every level, so that each level
+     * writes codes
+     */
+    private static Component nest(int depth) {
+        Component component = Component.text("leaf");
+        for (int i = depth; i > 0; i--) {
+            component = Component.text()
+                    .content(Integer.toString(i))
+                    .color(i % 2 == 0 ? NamedTextColor.RED : NamedTextColor.GOLD)
+                    .decoration(TextDecoration.values()[i % TextDecoration.values().length], i % 3 != 0)
+                    .append(component)
+                    .append(Component.text("/" + i))
+                    .build();
+        }
+        return component;
+    }
+
+    private static void assertSerializesLikeAdventure(Component component) {
+        String expected = ADVENTURE.serialize(component);
+        assertEquals(expected, LEGACY.serialize(component));
+        assertDeserializesLikeAdventure(expected);
+    }
+
+    private static void assertDeserializesLikeAdventure(String legacy) {
+        TextComponent expected = ADVENTURE.deserialize(legacy);
+        assertEquals(expected, LEGACY.deserialize(legacy));
+    }
+}
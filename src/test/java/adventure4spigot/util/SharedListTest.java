@@ -0,0 +1,91 @@
+/*
+ * This file is part of adventure4spigot, licensed under the MIT License.
+ *
+ *  Copyright (c) Revxrsal <reflxction.github@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package adventure4spigot.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SharedListTest {
+
+    private final Object[] shared = {"a", "b", "c"};
+
+    @Test void readsTheSharedArray() {
+        List<String> list = SharedList.of(shared);
+
+        assertEquals(Arrays.asList("a", "b", "c"), list);
+        assertEquals(Arrays.asList("a", "b", "c").hashCode(), list.hashCode());
+        assertEquals(3, list.size());
+    }
+
+    @Test void setCopiesBeforeWriting() {
+        List<String> first = SharedList.of(shared), second = SharedList.of(shared);
+
+        assertEquals("a", first.set(0, "x"));
+
+        assertEquals(Arrays.asList("x", "b", "c"), first);
+        assertEquals(Arrays.asList("a", "b", "c"), second);
+        assertArrayEquals(new Object[]{"a", "b", "c"}, shared);
+    }
+
+    @Test void addAndRemoveCopyBeforeWriting() {
+        List<String> first = SharedList.of(shared), second = SharedList.of(shared);
+
+        first.add("d");
+        first.remove(0);
+        second.add(0, "z");
+
+        assertEquals(Arrays.asList("b", "c", "d"), first);
+        assertEquals(Arrays.asList("z", "a", "b", "c"), second);
+        assertArrayEquals(new Object[]{"a", "b", "c"}, shared);
+    }
+
+    @Test void clearCopiesBeforeWriting() {
+        List<String> first = SharedList.of(shared), second = SharedList.of(shared);
+
+        first.clear();
+        first.addAll(Arrays.asList("new", "lore"));
+
+        assertEquals(Arrays.asList("new", "lore"), first);
+        assertEquals(Arrays.asList("a", "b", "c"), second);
+        assertArrayEquals(new Object[]{"a", "b", "c"}, shared);
+    }
+
+    @Test void structuralChangesFailIterators() {
+        List<String> list = SharedList.of(shared);
+        Iterator<String> iterator = list.iterator();
+        iterator.next();
+
+        list.add("d");
+
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+}